@@ -0,0 +1,105 @@
+package com.kimzing.test.benchmark;
+
+import com.kimzing.redis.codec.JsonRedisCodec;
+import com.kimzing.utils.json.JsonUtil;
+import lombok.Data;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON值编解码的性能对比，baseline为原先每次调用JsonUtil的实现.
+ * <p>
+ * 直接运行main方法，GC profiler输出的gc.alloc.rate.norm即每次操作分配的字节数
+ * </p>
+ *
+ * @author KimZing - kimzing@163.com
+ * @since 2026/10/18 07:39
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonRedisCodecBenchmark {
+
+    private static final String PATTERN = "yyyy-MM-dd HH:mm:ss";
+
+    private final JsonRedisCodec codec = new JsonRedisCodec(PATTERN);
+
+    private Order order;
+
+    private byte[] rawOrder;
+
+    @Setup
+    public void setup() {
+        order = new Order();
+        order.setId(20200719000201L);
+        order.setUserName("kimzing");
+        order.setAmount(new BigDecimal("99.90"));
+        order.setCreateTime(LocalDateTime.of(2020, 7, 19, 0, 2, 1));
+        order.setPayTime(new Date(1595088121000L));
+        rawOrder = codec.serialize(order);
+    }
+
+    @Benchmark
+    public byte[] serializeBaseline() {
+        return JsonUtil.beanToJson(order, PATTERN).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return codec.serialize(order);
+    }
+
+    @Benchmark
+    public Order deserializeBaseline() {
+        return JsonUtil.jsonToBean(new String(rawOrder, StandardCharsets.UTF_8), Order.class, PATTERN);
+    }
+
+    @Benchmark
+    public Order deserialize() {
+        return codec.toBean(rawOrder, Order.class);
+    }
+
+    @Data
+    public static class Order {
+
+        private Long id;
+
+        private String userName;
+
+        private BigDecimal amount;
+
+        private LocalDateTime createTime;
+
+        private Date payTime;
+
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JsonRedisCodecBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+
+}
@@ -0,0 +1,85 @@
+package com.kimzing.test.benchmark;
+
+import com.kimzing.redis.KFCStringRedisSerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * key序列化的性能对比，baseline为原先拼接字符串的实现.
+ * <p>
+ * 直接运行main方法，GC profiler输出的gc.alloc.rate.norm即每次操作分配的字节数
+ * </p>
+ *
+ * @author KimZing - kimzing@163.com
+ * @since 2026/10/18 07:22
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KFCStringRedisSerializerBenchmark {
+
+    private static final String PREFIX = "kimzing-order-service";
+
+    private final KFCStringRedisSerializer serializer = new KFCStringRedisSerializer(PREFIX);
+
+    private String key;
+
+    private byte[] rawKey;
+
+    @Setup
+    public void setup() {
+        key = "order:detail:20200719000201";
+        rawKey = serializer.serialize(key);
+    }
+
+    @Benchmark
+    public byte[] serializeBaseline() {
+        Object s = PREFIX + ":" + key;
+        return s.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return serializer.serialize(key);
+    }
+
+    @Benchmark
+    public String deserializeBaseline() {
+        String s = new String(rawKey, StandardCharsets.UTF_8);
+        if (s.startsWith(PREFIX)) {
+            return s.substring(PREFIX.length() + 1);
+        }
+        throw new IllegalStateException();
+    }
+
+    @Benchmark
+    public String deserialize() {
+        return serializer.deserialize(rawKey);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(KFCStringRedisSerializerBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+
+}
@@ -0,0 +1,109 @@
+package com.kimzing.test.benchmark;
+
+import com.kimzing.log.LogIgnore;
+import com.kimzing.log.LogKim;
+import com.kimzing.log.MethodLogMetadata;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 日志切面每次调用解析方法信息的开销对比，baseline为原先每次反射解析的实现.
+ * <p>
+ * 直接运行main方法，GC profiler输出的gc.alloc.rate.norm即每次操作分配的字节数
+ * </p>
+ *
+ * @author KimZing - kimzing@163.com
+ * @since 2026/10/18 07:58
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MethodLogMetadataBenchmark {
+
+    private Method method;
+
+    private Object target;
+
+    private Object[] args;
+
+    @Setup
+    public void setup() throws NoSuchMethodException {
+        target = new OrderService();
+        method = OrderService.class.getMethod("create", String.class, Long.class, Integer.class);
+        args = new Object[]{"token", 20200719000201L, 3};
+    }
+
+    @Benchmark
+    public void resolveBaseline(Blackhole blackhole) {
+        blackhole.consume(target.getClass().getSimpleName());
+        blackhole.consume(method.getName());
+        blackhole.consume(method.getAnnotation(LogKim.class).desc());
+
+        Annotation[][] parameterAnnotations = method.getParameterAnnotations();
+        List<Integer> ignoreParamIndex = new ArrayList<>();
+        for (int i = 0; i < parameterAnnotations.length; i++) {
+            for (Annotation annotation : parameterAnnotations[i]) {
+                if (annotation.annotationType() == LogIgnore.class) {
+                    ignoreParamIndex.add(i);
+                }
+            }
+        }
+        Map<String, Object> argsMap = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!ignoreParamIndex.contains(i) && args[i] != null) {
+                argsMap.put(args[i].getClass().getSimpleName(), args[i]);
+            }
+        }
+        blackhole.consume(argsMap);
+    }
+
+    @Benchmark
+    public void resolve(Blackhole blackhole) {
+        MethodLogMetadata metadata = MethodLogMetadata.of(method, OrderService.class);
+        blackhole.consume(metadata.getClassName(target.getClass()));
+        blackhole.consume(metadata.getMethodName());
+        blackhole.consume(metadata.getDesc());
+        blackhole.consume(metadata.getParams(args));
+    }
+
+    public static class OrderService {
+
+        @LogKim(desc = "创建订单")
+        public Long create(@LogIgnore String token, Long userId, Integer count) {
+            return userId;
+        }
+
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(MethodLogMetadataBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+
+}
@@ -0,0 +1,85 @@
+package com.kimzing.test.benchmark;
+
+import com.kimzing.redis.KFCRedisTemplate;
+import com.kimzing.redis.limit.LocalTokenBuckets;
+import com.kimzing.test.redis.RedisTestSupport;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 限流的压测，8个线程争抢同一个key，桶的速率远低于请求速率，绝大多数请求会被拒绝.
+ * <p>
+ * 使用内嵌redis，直接运行main方法。对比开启与关闭本地预检时令牌桶的吞吐量，以及滑动窗口的吞吐量
+ * </p>
+ *
+ * @author KimZing - kimzing@163.com
+ * @since 2026/10/18 07:32
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Threads(8)
+@Fork(1)
+public class RateLimitBenchmark {
+
+    @Param({"false", "true"})
+    private boolean localPreCheck;
+
+    private RedisTestSupport redis;
+
+    private KFCRedisTemplate kfcRedisTemplate;
+
+    private final Duration window = Duration.ofSeconds(1);
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        redis = new RedisTestSupport();
+        kfcRedisTemplate = redis.getKfcRedisTemplate();
+        if (localPreCheck) {
+            kfcRedisTemplate.setLocalTokenBuckets(new LocalTokenBuckets(1000));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        redis.stop();
+    }
+
+    @Benchmark
+    public boolean tokenBucket() {
+        return kfcRedisTemplate.tryAcquireToken("limit:benchmark:token", 100, 1000, 1);
+    }
+
+    @Benchmark
+    public boolean slidingWindow() {
+        return kfcRedisTemplate.tryAcquireWindow("limit:benchmark:window", 1000, window);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RateLimitBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+}
@@ -0,0 +1,185 @@
+package com.kimzing.test.log;
+
+import com.kimzing.log.async.AsyncLogDispatcher;
+import com.kimzing.log.async.OverflowPolicy;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.Assert;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * 异步日志分发器的缓冲区溢出策略.
+ *
+ * @author KimZing - kimzing@163.com
+ * @since 2026/10/18 07:57
+ */
+public class AsyncLogDispatcherTest {
+
+    /**
+     * DROP: 缓冲区满时丢弃新日志，已写入的日志按顺序处理
+     */
+    @Test
+    public void testDispatchWhenDrop() throws InterruptedException {
+        BlockingHandler handler = new BlockingHandler();
+        AsyncLogDispatcher<Integer> dispatcher = new AsyncLogDispatcher<>(4, 16, OverflowPolicy.DROP, 1, handler);
+        handler.blockWorker(dispatcher);
+        for (int i = 1; i <= 4; i++) {
+            Assert.isTrue(dispatcher.dispatch(i), "缓冲区未满时写入失败");
+        }
+        Assert.isTrue(dispatcher.getQueueDepth() == 4, "队列深度错误");
+        Assert.isTrue(!dispatcher.dispatch(5), "缓冲区已满仍然写入");
+        Assert.isTrue(dispatcher.getDroppedCount() == 1, "丢弃数量错误");
+
+        handler.release();
+        dispatcher.close();
+        Assert.isTrue(Arrays.asList(0, 1, 2, 3, 4).equals(handler.handled), "处理的日志错误: " + handler.handled);
+    }
+
+    /**
+     * SAMPLE: 缓冲区使用超过一半后按采样率保留
+     */
+    @Test
+    public void testDispatchWhenSample() throws InterruptedException {
+        BlockingHandler handler = new BlockingHandler();
+        AsyncLogDispatcher<Integer> dispatcher = new AsyncLogDispatcher<>(8, 16, OverflowPolicy.SAMPLE,
+                Integer.MAX_VALUE, handler);
+        handler.blockWorker(dispatcher);
+        for (int i = 1; i <= 4; i++) {
+            Assert.isTrue(dispatcher.dispatch(i), "缓冲区未过半时写入失败");
+        }
+        for (int i = 5; i <= 14; i++) {
+            Assert.isTrue(!dispatcher.dispatch(i), "缓冲区过半后未采样");
+        }
+        Assert.isTrue(dispatcher.getSampledCount() == 10 && dispatcher.getDroppedCount() == 0, "采样数量错误");
+
+        handler.release();
+        dispatcher.close();
+        Assert.isTrue(Arrays.asList(0, 1, 2, 3, 4).equals(handler.handled), "处理的日志错误: " + handler.handled);
+    }
+
+    /**
+     * BLOCK: 缓冲区满时阻塞业务线程，有空位后写入，不丢日志
+     */
+    @Test
+    public void testDispatchWhenBlock() throws Exception {
+        BlockingHandler handler = new BlockingHandler();
+        AsyncLogDispatcher<Integer> dispatcher = new AsyncLogDispatcher<>(2, 16, OverflowPolicy.BLOCK, 1, handler);
+        handler.blockWorker(dispatcher);
+        Assert.isTrue(dispatcher.dispatch(1) && dispatcher.dispatch(2), "缓冲区未满时写入失败");
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Boolean> blocked = executor.submit(() -> dispatcher.dispatch(3));
+            boolean timeout = false;
+            try {
+                blocked.get(200, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                timeout = true;
+            }
+            Assert.isTrue(timeout, "缓冲区已满时未阻塞");
+
+            handler.release();
+            Assert.isTrue(blocked.get(5, TimeUnit.SECONDS), "有空位后写入失败");
+        } finally {
+            executor.shutdownNow();
+        }
+        dispatcher.close();
+        Assert.isTrue(Arrays.asList(0, 1, 2, 3).equals(handler.handled), "处理的日志错误: " + handler.handled);
+        Assert.isTrue(dispatcher.getDroppedCount() == 0, "阻塞策略丢弃了日志");
+    }
+
+    /**
+     * 关闭后直接在调用线程处理
+     */
+    @Test
+    public void testDispatchWhenClosed() {
+        List<Integer> handled = Collections.synchronizedList(new ArrayList<>());
+        AsyncLogDispatcher<Integer> dispatcher = new AsyncLogDispatcher<>(4, 16, OverflowPolicy.DROP, 1, handled::addAll);
+        dispatcher.close();
+        Assert.isTrue(dispatcher.dispatch(1), "关闭后写入失败");
+        Assert.isTrue(Collections.singletonList(1).equals(handled), "关闭后未直接处理");
+    }
+
+    /**
+     * 与close并发写入的日志，只要写入成功就一定被处理
+     */
+    @Test
+    public void testDispatchWhenClosingConcurrently() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            for (int round = 0; round < 200; round++) {
+                AtomicInteger handled = new AtomicInteger();
+                AsyncLogDispatcher<Integer> dispatcher = new AsyncLogDispatcher<>(1 << 16, 256, OverflowPolicy.DROP, 1,
+                        batch -> handled.addAndGet(batch.size()));
+                CountDownLatch started = new CountDownLatch(4);
+                List<Future<Integer>> futures = new ArrayList<>();
+                for (int t = 0; t < 4; t++) {
+                    futures.add(executor.submit(() -> {
+                        started.countDown();
+                        int accepted = 0;
+                        for (int i = 0; i < 2000; i++) {
+                            if (dispatcher.dispatch(i)) {
+                                accepted++;
+                            }
+                        }
+                        return accepted;
+                    }));
+                }
+                started.await();
+                dispatcher.close();
+                int accepted = 0;
+                for (Future<Integer> future : futures) {
+                    accepted += future.get(5, TimeUnit.SECONDS);
+                }
+                Assert.isTrue(handled.get() == accepted, "第" + round + "轮丢失日志: " + handled.get() + "/" + accepted);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * 处理第一条日志时阻塞后台线程，使后续日志留在缓冲区
+     */
+    private static class BlockingHandler implements Consumer<List<Integer>> {
+
+        private final List<Integer> handled = Collections.synchronizedList(new ArrayList<>());
+
+        private final CountDownLatch entered = new CountDownLatch(1);
+
+        private final CountDownLatch released = new CountDownLatch(1);
+
+        @Override
+        public void accept(List<Integer> batch) {
+            handled.addAll(batch);
+            entered.countDown();
+            try {
+                released.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void blockWorker(AsyncLogDispatcher<Integer> dispatcher) throws InterruptedException {
+            dispatcher.dispatch(0);
+            Assert.isTrue(entered.await(5, TimeUnit.SECONDS), "后台线程未处理日志");
+        }
+
+        private void release() {
+            released.countDown();
+        }
+
+    }
+
+}
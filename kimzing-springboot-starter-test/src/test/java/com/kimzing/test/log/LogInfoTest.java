@@ -0,0 +1,85 @@
+package com.kimzing.test.log;
+
+import com.kimzing.log.LogInfo;
+import com.kimzing.log.LogTimeFormatter;
+import com.kimzing.utils.json.JsonUtil;
+import com.kimzing.web.log.WebLogInfo;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.Assert;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 日志信息载体的序列化格式.
+ *
+ * @author KimZing - kimzing@163.com
+ * @since 2026/10/18 08:00
+ */
+public class LogInfoTest {
+
+    private static final LogTimeFormatter FORMATTER = LogTimeFormatter.ofPattern(LogTimeFormatter.DEFAULT_PATTERN);
+
+    /**
+     * 时间戳在序列化时格式化为字符串，格式化器与原始时间戳不作为属性输出
+     */
+    @Test
+    public void testBeanToJsonWhenBuiltFromTimestamps() {
+        long start = System.currentTimeMillis();
+        long elapsedNanos = TimeUnit.MILLISECONDS.toNanos(12) + 345;
+        LogInfo logInfo = LogInfo.builder()
+                .className("com.kimzing.Demo")
+                .methodName("hello")
+                .startTimestamp(start)
+                .endTimestamp(start + 12)
+                .elapsedTimeInNanos(elapsedNanos)
+                .timeFormatter(FORMATTER)
+                .build();
+
+        String json = JsonUtil.beanToJson(logInfo);
+        Map map = JsonUtil.jsonToBean(json, Map.class);
+        Assert.isTrue(FORMATTER.format(start).equals(map.get("startTime")), "开始时间未格式化: " + json);
+        Assert.isTrue(FORMATTER.format(start + 12).equals(map.get("endTime")), "结束时间未格式化: " + json);
+        Assert.isTrue(((Number) map.get("elapsedTimeInMilliseconds")).longValue() == 12L, "运行时间错误: " + json);
+        Assert.isTrue(!map.containsKey("timeFormatter"), "格式化器被序列化: " + json);
+        Assert.isTrue(!map.containsKey("startTimestamp") && !map.containsKey("endTimestamp"), "原始时间戳被序列化: " + json);
+        Assert.isTrue(!map.containsKey("elapsedTimeInNanos"), "纳秒耗时被序列化: " + json);
+        Assert.isTrue(logInfo.toString().contains("startTime=" + FORMATTER.format(start)), "toString未输出格式化时间");
+    }
+
+    /**
+     * 直接设置字符串时间时保持原有行为
+     */
+    @Test
+    public void testBeanToJsonWhenBuiltFromStrings() {
+        LogInfo logInfo = LogInfo.builder()
+                .startTime("2020-01-01 00:00:00:000")
+                .endTime("2020-01-01 00:00:00:010")
+                .elapsedTimeInMilliseconds(10L)
+                .build();
+
+        Map map = JsonUtil.jsonToBean(JsonUtil.beanToJson(logInfo), Map.class);
+        Assert.isTrue("2020-01-01 00:00:00:000".equals(map.get("startTime")), "开始时间错误");
+        Assert.isTrue("2020-01-01 00:00:00:010".equals(map.get("endTime")), "结束时间错误");
+        Assert.isTrue(((Number) map.get("elapsedTimeInMilliseconds")).longValue() == 10L, "运行时间错误");
+    }
+
+    /**
+     * 未设置格式化器时使用默认格式，未设置时间时不输出
+     */
+    @Test
+    public void testWebLogInfoWhenFormatterAbsent() {
+        long start = System.currentTimeMillis();
+        WebLogInfo webLogInfo = WebLogInfo.builder()
+                .url("/demo")
+                .startTimestamp(start)
+                .build();
+
+        Map map = JsonUtil.jsonToBean(JsonUtil.beanToJson(webLogInfo), Map.class);
+        Assert.isTrue(FORMATTER.format(start).equals(map.get("startTime")), "默认格式错误");
+        Assert.isNull(map.get("endTime"), "未设置的结束时间被输出");
+        Assert.isNull(map.get("elapsedTimeInMilliseconds"), "未设置的运行时间被输出");
+        Assert.isTrue(!map.containsKey("timeFormatter"), "格式化器被序列化");
+    }
+
+}
@@ -0,0 +1,87 @@
+package com.kimzing.test.redis;
+
+import com.kimzing.redis.codec.SmileRedisCodec;
+import com.kimzing.redis.hash.BeanHashMapper;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.Assert;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 对象与redis hash映射时的泛型属性还原.
+ *
+ * @author KimZing - kimzing@163.com
+ * @since 2026/10/18 08:19
+ */
+public class BeanHashMapperTest {
+
+    private final SmileRedisCodec codec = new SmileRedisCodec();
+
+    private final BeanHashMapper mapper = new BeanHashMapper(codec);
+
+    /**
+     * Set、Map、嵌套List等泛型属性按声明的元素类型还原
+     */
+    @Test
+    public void testFromHashWhenGenericProperties() {
+        Order order = new Order();
+        order.setName("order");
+        order.setItems(Arrays.asList(new Item("a", 1)));
+        order.setTags(new LinkedHashSet<>(Arrays.asList(new Item("b", 2))));
+        Map<String, Item> byName = new LinkedHashMap<>();
+        byName.put("c", new Item("c", 3));
+        order.setByName(byName);
+        order.setGroups(Collections.singletonList(Arrays.asList(new Item("d", 4))));
+
+        Order restored = mapper.fromHash(encode(mapper.toHash(order, mapper.getPropertyNames(Order.class))), Order.class);
+        Assert.isTrue(order.equals(restored), "还原结果错误: " + restored);
+        Assert.isTrue(restored.getTags().iterator().next().getCount() == 2, "Set元素类型错误");
+        Assert.isTrue(restored.getByName().get("c").getCount() == 3, "Map值类型错误");
+        Assert.isTrue(restored.getGroups().get(0).get(0).getCount() == 4, "嵌套List元素类型错误");
+    }
+
+    /**
+     * 模拟写入redis再读取，得到值的中间形态
+     */
+    private Map<String, Object> encode(Map<String, Object> hash) {
+        Map<String, Object> raws = new LinkedHashMap<>();
+        hash.forEach((field, value) -> raws.put(field, codec.deserialize(codec.serialize(value))));
+        return raws;
+    }
+
+    @Data
+    public static class Order {
+
+        private String name;
+
+        private List<Item> items;
+
+        private Set<Item> tags;
+
+        private Map<String, Item> byName;
+
+        private List<List<Item>> groups;
+
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+
+        private String name;
+
+        private Integer count;
+
+    }
+
+}
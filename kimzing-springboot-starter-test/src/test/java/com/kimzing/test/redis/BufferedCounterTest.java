@@ -0,0 +1,103 @@
+package com.kimzing.test.redis;
+
+import com.kimzing.redis.KFCRedisTemplate;
+import com.kimzing.redis.counter.BufferedCounter;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.Assert;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * 写回式缓冲计数器.
+ *
+ * @author KimZing - kimzing@163.com
+ * @since 2026/10/18 07:49
+ */
+public class BufferedCounterTest {
+
+    private static RedisTestSupport redis;
+
+    private static KFCRedisTemplate kfcRedisTemplate;
+
+    @BeforeAll
+    public static void start() throws IOException {
+        redis = new RedisTestSupport();
+        kfcRedisTemplate = redis.getKfcRedisTemplate();
+    }
+
+    @AfterAll
+    public static void stop() throws IOException {
+        redis.stop();
+    }
+
+    /**
+     * 关闭时写入全部本地增量
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testCloseWhenPending() {
+        BufferedCounter counter = new BufferedCounter(kfcRedisTemplate, Duration.ofMinutes(1), 100);
+        for (int i = 0; i < 10; i++) {
+            counter.increment("counter:view");
+        }
+        counter.increment("counter:view", 5);
+        Assert.isTrue(counter.getPending("counter:view") == 15, "本地增量错误");
+        counter.close();
+        Assert.isTrue(counter.get("counter:view") == 15, "关闭时未写入本地增量");
+    }
+
+    /**
+     * 写入间隔不足1毫秒时直接拒绝创建
+     */
+    @Test
+    public void testCreateWhenIntervalInvalid() {
+        for (Duration interval : new Duration[]{Duration.ZERO, Duration.ofMillis(-1), Duration.ofNanos(999_999)}) {
+            try {
+                kfcRedisTemplate.createBufferedCounter(interval, 100).close();
+            } catch (IllegalArgumentException e) {
+                Assert.isTrue(e.getMessage().startsWith("Interval"), "未校验写入间隔: " + interval);
+                continue;
+            }
+            throw new IllegalStateException("写入间隔无效时仍然创建成功: " + interval);
+        }
+    }
+
+    /**
+     * 关闭期间新key触发的立即写入不会抛出RejectedExecutionException
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testIncrementWhenClosing() throws Exception {
+        for (int round = 0; round < 20; round++) {
+            BufferedCounter counter = new BufferedCounter(kfcRedisTemplate, Duration.ofMinutes(1), 1);
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            try {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int t = 0; t < 4; t++) {
+                    int thread = t;
+                    futures.add(executor.submit(() -> {
+                        for (int i = 0; i < 2000; i++) {
+                            counter.increment("counter:closing:" + thread + ":" + i);
+                        }
+                    }));
+                }
+                counter.close();
+                for (Future<?> future : futures) {
+                    // 计数线程抛出异常时此处会抛出ExecutionException
+                    future.get();
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+}
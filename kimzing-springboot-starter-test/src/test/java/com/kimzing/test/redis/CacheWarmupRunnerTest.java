@@ -0,0 +1,122 @@
+package com.kimzing.test.redis;
+
+import com.kimzing.redis.KFCRedisTemplate;
+import com.kimzing.redis.nearcache.NearCache;
+import com.kimzing.redis.nearcache.NearCacheInvalidator;
+import com.kimzing.redis.warmup.CacheWarmer;
+import com.kimzing.redis.warmup.CacheWarmupReport;
+import com.kimzing.redis.warmup.CacheWarmupRunner;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.Assert;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 缓存预热.
+ *
+ * @author KimZing - kimzing@163.com
+ * @since 2026/10/18 07:44
+ */
+public class CacheWarmupRunnerTest {
+
+    private static RedisTestSupport redis;
+
+    @BeforeAll
+    public static void start() throws IOException {
+        redis = new RedisTestSupport();
+    }
+
+    @AfterAll
+    public static void stop() throws IOException {
+        redis.stop();
+    }
+
+    /**
+     * 回源的值写入redis后产生的键空间通知不会清除预热写入的近端缓存
+     */
+    @Test
+    public void testWarmUpWhenKeyspaceNotified() {
+        KFCRedisTemplate kfcRedisTemplate = redis.getKfcRedisTemplate();
+        NearCache nearCache = new NearCache(10000, Duration.ofMinutes(1));
+        NearCacheInvalidator invalidator = new NearCacheInvalidator(redis.getRedissonClient(), nearCache, "test");
+        invalidator.start();
+        kfcRedisTemplate.setNearCache(nearCache);
+        try {
+            List<String> keys = new ArrayList<>();
+            for (int i = 0; i < 5000; i++) {
+                keys.add("warmup:user:" + i);
+            }
+            CacheWarmupRunner runner = new CacheWarmupRunner(kfcRedisTemplate,
+                    Collections.singletonList(new UserWarmer(keys)), 2, Duration.ofSeconds(30));
+            runner.setNearCacheInvalidator(invalidator);
+
+            CacheWarmupReport report = runner.warmUp().get(0);
+            Assert.isTrue(report.isSuccess() && report.getLoadedCount() == keys.size(), "预热回源失败");
+
+            // 写入之后的通知到达前再写一个栅栏，确认所有通知都已处理
+            Assert.isTrue(invalidator.awaitNotifications(Duration.ofSeconds(5)), "等待通知超时");
+            for (String key : keys) {
+                Assert.isTrue(("user-" + key).equals(nearCache.get(key, String.class)), "预热的近端缓存被清除: " + key);
+            }
+
+            // 其他节点的写入仍然会使近端缓存失效
+            kfcRedisTemplate.opsForValue().set(keys.get(0), "changed");
+            Assert.isTrue(invalidator.awaitNotifications(Duration.ofSeconds(5)), "等待通知超时");
+            Assert.isNull(nearCache.get(keys.get(0), String.class), "写入后近端缓存未失效");
+        } finally {
+            kfcRedisTemplate.setNearCache(null);
+            invalidator.stop();
+        }
+    }
+
+    /**
+     * 并发数小于等于0时直接报错，而不是在创建线程池时失败
+     */
+    @Test
+    public void testCreateWhenConcurrencyInvalid() {
+        boolean rejected = false;
+        try {
+            new CacheWarmupRunner(redis.getKfcRedisTemplate(), Collections.emptyList(), 0, Duration.ofSeconds(1));
+        } catch (IllegalArgumentException e) {
+            rejected = true;
+        }
+        Assert.isTrue(rejected, "并发数为0时未报错");
+    }
+
+    private static class UserWarmer implements CacheWarmer {
+
+        private final List<String> keys;
+
+        private UserWarmer(List<String> keys) {
+            this.keys = keys;
+        }
+
+        @Override
+        public Collection<String> keys() {
+            return keys;
+        }
+
+        @Override
+        public Class<?> valueType() {
+            return String.class;
+        }
+
+        @Override
+        public Map<String, ?> load(Collection<String> missingKeys) {
+            Map<String, String> values = new LinkedHashMap<>();
+            missingKeys.forEach(key -> values.put(key, "user-" + key));
+            return values;
+        }
+
+    }
+
+}
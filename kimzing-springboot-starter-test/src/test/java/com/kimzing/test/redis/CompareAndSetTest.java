@@ -0,0 +1,113 @@
+package com.kimzing.test.redis;
+
+import com.kimzing.redis.KFCRedisTemplate;
+import com.kimzing.redis.version.VersionedValue;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.Assert;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * 带版本号缓存的Lua比较并写入.
+ *
+ * @author KimZing - kimzing@163.com
+ * @since 2026/10/18 07:41
+ */
+public class CompareAndSetTest {
+
+    private static RedisTestSupport redis;
+
+    private static KFCRedisTemplate kfcRedisTemplate;
+
+    @BeforeAll
+    public static void start() throws IOException {
+        redis = new RedisTestSupport();
+        kfcRedisTemplate = redis.getKfcRedisTemplate();
+    }
+
+    @AfterAll
+    public static void stop() throws IOException {
+        redis.stop();
+    }
+
+    /**
+     * 版本号一致时写入并递增版本号，不一致时不写入
+     */
+    @Test
+    public void testCompareAndSetWhenVersionMatched() {
+        Assert.isTrue(kfcRedisTemplate.setVersioned("cas:user", "v1", null) == 1, "首次写入版本号错误");
+        Assert.isTrue(kfcRedisTemplate.compareAndSet("cas:user", 1, "v2", null) == 2, "版本一致时写入失败");
+        Assert.isTrue(kfcRedisTemplate.compareAndSet("cas:user", 1, "v3", null) == -1, "版本不一致时仍然写入");
+
+        VersionedValue<String> current = kfcRedisTemplate.getVersioned("cas:user", String.class);
+        Assert.isTrue("v2".equals(current.getValue()) && current.getVersion() == 2, "读取的值或版本号错误");
+    }
+
+    /**
+     * 期望版本号为0时仅在key不存在时写入，并设置过期时间
+     */
+    @Test
+    public void testCompareAndSetWhenAbsent() {
+        Assert.isNull(kfcRedisTemplate.getVersioned("cas:absent", String.class), "不存在的key应返回null");
+        Assert.isTrue(kfcRedisTemplate.compareAndSet("cas:absent", 0, "v1", Duration.ofMinutes(1)) == 1, "key不存在时写入失败");
+        Assert.isTrue(kfcRedisTemplate.compareAndSet("cas:absent", 0, "v2", null) == -1, "key已存在时仍然写入");
+
+        Long ttl = kfcRedisTemplate.getExpire("cas:absent");
+        Assert.isTrue(ttl != null && ttl > 0 && ttl <= 60, "过期时间错误: " + ttl);
+    }
+
+    /**
+     * 多线程乐观更新不丢失任何一次更新
+     */
+    @Test
+    public void testUpdateVersionedWhenConcurrent() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 25; i++) {
+                        kfcRedisTemplate.updateVersioned("cas:counter", Integer.class, null,
+                                current -> current == null ? 1 : current + 1, 1000);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        VersionedValue<Integer> counter = kfcRedisTemplate.getVersioned("cas:counter", Integer.class);
+        Assert.isTrue(counter.getValue() == 200 && counter.getVersion() == 200, "并发更新丢失: " + counter.getValue());
+    }
+
+    /**
+     * 超过最大重试次数时抛出异常
+     */
+    @Test
+    public void testUpdateVersionedWhenRetriesExceeded() {
+        kfcRedisTemplate.setVersioned("cas:conflict", 1, null);
+        boolean failed = false;
+        try {
+            // 每次计算新值时都有其他写入，版本号必然冲突
+            kfcRedisTemplate.updateVersioned("cas:conflict", Integer.class, null, current -> {
+                kfcRedisTemplate.setVersioned("cas:conflict", current + 1, null);
+                return current + 1;
+            }, 2);
+        } catch (RuntimeException e) {
+            failed = true;
+        }
+        Assert.isTrue(failed, "超过最大重试次数未抛出异常");
+        Assert.isTrue(kfcRedisTemplate.getVersioned("cas:conflict", Integer.class).getVersion() == 4, "重试次数错误");
+    }
+
+}
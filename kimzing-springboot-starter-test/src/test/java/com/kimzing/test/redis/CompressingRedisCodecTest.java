@@ -0,0 +1,136 @@
+package com.kimzing.test.redis;
+
+import com.kimzing.redis.codec.CompressingRedisCodec;
+import com.kimzing.redis.codec.KFCRedisCodec;
+import com.kimzing.redis.codec.SmileRedisCodec;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.Assert;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * 压缩编解码器.
+ *
+ * @author KimZing - kimzing@163.com
+ * @since 2026/10/18 07:29
+ */
+public class CompressingRedisCodecTest {
+
+    private final SmileRedisCodec smile = new SmileRedisCodec();
+
+    /**
+     * deflate与lz4压缩后均可还原，且结果带有压缩头
+     */
+    @Test
+    public void testRoundTripWhenCompressed() {
+        Map<String, Object> value = repeatedValue();
+        for (String algorithm : new String[]{"deflate", "lz4"}) {
+            CompressingRedisCodec codec = new CompressingRedisCodec(smile, 64, algorithm);
+            byte[] bytes = codec.serialize(value);
+            Assert.isTrue(bytes[0] == 0, "未进行压缩: " + algorithm);
+            Assert.isTrue(bytes.length < smile.serialize(value).length, "压缩后未变小: " + algorithm);
+            Assert.isTrue(value.equals(codec.toBean(codec.deserialize(bytes), Map.class)), "还原结果错误: " + algorithm);
+            Assert.isTrue(codec.getCompressedCount() == 1, "压缩次数错误: " + algorithm);
+        }
+    }
+
+    /**
+     * 小于阈值时不压缩
+     */
+    @Test
+    public void testSerializeWhenBelowThreshold() {
+        CompressingRedisCodec codec = new CompressingRedisCodec(smile, 4096, "deflate");
+        Map<String, Object> value = repeatedValue();
+        byte[] bytes = codec.serialize(value);
+        Assert.isTrue(bytes[0] != 0, "不应压缩");
+        Assert.isTrue(value.equals(codec.toBean(codec.deserialize(bytes), Map.class)), "还原结果错误");
+    }
+
+    /**
+     * 压缩后不小于原始数据时按原始数据存储
+     */
+    @Test
+    public void testSerializeWhenIncompressible() {
+        byte[] random = new byte[2048];
+        new Random(7).nextBytes(random);
+        // 随机字节无法压缩，原样交给压缩编解码器
+        random[0] = 1;
+        for (String algorithm : new String[]{"deflate", "lz4"}) {
+            CompressingRedisCodec codec = new CompressingRedisCodec(new RawCodec(), 64, algorithm);
+            byte[] bytes = codec.serialize(random);
+            Assert.isTrue(Arrays.equals(random, bytes), "无收益时不应压缩: " + algorithm);
+            Assert.isTrue(codec.getSkippedCount() == 1 && codec.getCompressedCount() == 0, "压缩统计错误: " + algorithm);
+            Assert.isTrue(Arrays.equals(random, (byte[]) codec.deserialize(bytes)), "还原结果错误: " + algorithm);
+        }
+    }
+
+    /**
+     * 未压缩的旧数据可以直接解码
+     */
+    @Test
+    public void testDeserializeWhenLegacyPayload() {
+        CompressingRedisCodec codec = new CompressingRedisCodec(smile, 64, "lz4");
+        Map<String, Object> value = repeatedValue();
+        Assert.isTrue(value.equals(codec.toBean(codec.deserialize(smile.serialize(value)), Map.class)), "旧数据解码错误");
+    }
+
+    /**
+     * 未知的算法标识直接报错，而不是按deflate解压
+     */
+    @Test
+    public void testDeserializeWhenUnknownAlgorithm() {
+        CompressingRedisCodec codec = new CompressingRedisCodec(smile, 64, "deflate");
+        byte[] bytes = codec.serialize(repeatedValue());
+        bytes[1] = 9;
+        boolean rejected = false;
+        try {
+            codec.deserialize(bytes);
+        } catch (RuntimeException e) {
+            rejected = true;
+        }
+        Assert.isTrue(rejected, "未知算法应当报错");
+    }
+
+    private Map<String, Object> repeatedValue() {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            text.append("kimzing-springboot-starter;");
+        }
+        Map<String, Object> value = new HashMap<>();
+        value.put("id", 1);
+        value.put("text", text.toString());
+        return value;
+    }
+
+    /**
+     * 直接透传字节数组的编解码器
+     */
+    private static class RawCodec implements KFCRedisCodec {
+
+        @Override
+        public byte[] serialize(Object value) {
+            return (byte[]) value;
+        }
+
+        @Override
+        public Object deserialize(byte[] bytes) {
+            return bytes;
+        }
+
+        @Override
+        public <T> T toBean(Object raw, Class<T> clazz) {
+            return clazz.cast(raw);
+        }
+
+        @Override
+        public <T> List<T> toList(Object raw, Class<T> clazz) {
+            throw new UnsupportedOperationException();
+        }
+
+    }
+
+}
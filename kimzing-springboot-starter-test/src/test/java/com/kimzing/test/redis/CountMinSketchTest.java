@@ -0,0 +1,45 @@
+package com.kimzing.test.redis;
+
+import com.kimzing.redis.hotkey.CountMinSketch;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.Assert;
+
+/**
+ * Count-Min Sketch计数.
+ *
+ * @author KimZing - kimzing@163.com
+ * @since 2026/10/18 07:36
+ */
+public class CountMinSketchTest {
+
+    /**
+     * 估算值不小于实际次数
+     */
+    @Test
+    public void testEstimateWhenSuccess() {
+        CountMinSketch sketch = new CountMinSketch(4, 1024);
+        for (int i = 0; i < 100; i++) {
+            for (int j = 0; j <= i % 10; j++) {
+                sketch.increment("user:" + i);
+            }
+        }
+        for (int i = 0; i < 100; i++) {
+            Assert.isTrue(sketch.estimate("user:" + i) >= i % 10 + 1, "估算值小于实际次数: " + i);
+        }
+    }
+
+    /**
+     * hashCode相同的key不会在所有行上冲突
+     */
+    @Test
+    public void testEstimateWhenSameHashCode() {
+        Assert.isTrue("Aa".hashCode() == "BB".hashCode(), "测试数据错误");
+        CountMinSketch sketch = new CountMinSketch(4, 4096);
+        for (int i = 0; i < 100; i++) {
+            sketch.increment("Aa");
+        }
+        Assert.isTrue(sketch.estimate("Aa") == 100, "估算值错误");
+        Assert.isTrue(sketch.estimate("BB") == 0, "hashCode相同的key被计入");
+    }
+
+}
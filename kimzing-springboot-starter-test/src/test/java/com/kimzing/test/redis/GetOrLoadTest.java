@@ -0,0 +1,113 @@
+package com.kimzing.test.redis;
+
+import com.kimzing.redis.KFCRedisTemplate;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.Assert;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 缓存加载的提前刷新与请求合并.
+ *
+ * @author KimZing - kimzing@163.com
+ * @since 2026/10/18 08:13
+ */
+public class GetOrLoadTest {
+
+    private static RedisTestSupport redis;
+
+    private static KFCRedisTemplate kfcRedisTemplate;
+
+    @BeforeAll
+    public static void start() throws IOException {
+        redis = new RedisTestSupport();
+        kfcRedisTemplate = redis.getKfcRedisTemplate();
+    }
+
+    @AfterAll
+    public static void stop() throws IOException {
+        redis.stop();
+    }
+
+    @AfterEach
+    public void resetBeta() {
+        kfcRedisTemplate.setEarlyRefreshBeta(1.0);
+    }
+
+    /**
+     * 提前刷新时loader返回null，仍返回已读取到的未过期值
+     */
+    @Test
+    public void testGetOrLoadWhenEarlyRefreshReturnsNull() {
+        kfcRedisTemplate.setAll(Collections.singletonMap("load:refresh", "v1"), Duration.ofMinutes(1));
+        // 上次加载耗时远大于剩余过期时间，必然触发提前刷新
+        kfcRedisTemplate.setAll(Collections.singletonMap("load:refresh:load-delta", 1_000_000L), Duration.ofMinutes(1));
+        kfcRedisTemplate.setEarlyRefreshBeta(1_000_000);
+
+        AtomicInteger calls = new AtomicInteger();
+        String value = kfcRedisTemplate.getOrLoad("load:refresh", String.class, Duration.ofMinutes(1), () -> {
+            calls.incrementAndGet();
+            return null;
+        });
+        Assert.isTrue(calls.get() == 1, "未触发提前刷新");
+        Assert.isTrue("v1".equals(value), "提前刷新返回null时丢失了原有值");
+        Assert.isTrue("v1".equals(kfcRedisTemplate.get("load:refresh", String.class)), "原有值被覆盖");
+    }
+
+    /**
+     * key不存在且loader返回null时返回null
+     */
+    @Test
+    public void testGetOrLoadWhenMissAndLoaderReturnsNull() {
+        Assert.isNull(kfcRedisTemplate.getOrLoad("load:miss", String.class, Duration.ofMinutes(1), () -> null),
+                "不存在的key应返回null");
+    }
+
+    /**
+     * 同一key按不同类型并发加载时不共享结果
+     */
+    @Test
+    public void testGetOrLoadWhenSameKeyDifferentType() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> first = executor.submit(() -> kfcRedisTemplate.getOrLoad("load:typed", String.class,
+                    Duration.ofMinutes(1), () -> {
+                        entered.countDown();
+                        awaitQuietly(release);
+                        return "v1";
+                    }));
+            Assert.isTrue(entered.await(5, TimeUnit.SECONDS), "第一个加载未开始");
+
+            // 第一个加载仍在进行中，按其他类型读取时应自行加载
+            Integer second = kfcRedisTemplate.getOrLoad("load:typed", Integer.class, Duration.ofMinutes(1), () -> 1);
+            release.countDown();
+            Assert.isTrue(second == 1, "按Integer读取的结果错误");
+            Assert.isTrue("v1".equals(first.get(5, TimeUnit.SECONDS)), "按String读取的结果错误");
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
@@ -0,0 +1,148 @@
+package com.kimzing.test.redis;
+
+import com.kimzing.redis.codec.JsonRedisCodec;
+import com.kimzing.utils.json.JsonUtil;
+import lombok.Data;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.Assert;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.MonthDay;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.Period;
+import java.time.Year;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * JSON值编解码器与JsonUtil的兼容性.
+ *
+ * @author KimZing - kimzing@163.com
+ * @since 2026/10/18 07:38
+ */
+public class JsonRedisCodecTest {
+
+    private static final String[] PATTERNS = {"yyyy-MM-dd HH:mm:ss", null};
+
+    /**
+     * 编码结果与JsonUtil.beanToJson的字节完全一致
+     */
+    @Test
+    public void testSerializeWhenSameAsJsonUtil() {
+        for (String pattern : PATTERNS) {
+            JsonRedisCodec codec = new JsonRedisCodec(pattern);
+            TimeBean bean = TimeBean.sample();
+            byte[] expected = JsonUtil.beanToJson(bean, pattern).getBytes(StandardCharsets.UTF_8);
+            Assert.isTrue(Arrays.equals(expected, codec.serialize(bean)), "与JsonUtil的编码结果不一致: " + pattern);
+        }
+    }
+
+    /**
+     * 可以读取JsonUtil写入的数据，覆盖所有java.time类型
+     */
+    @Test
+    public void testToBeanWhenWrittenByJsonUtil() {
+        for (String pattern : PATTERNS) {
+            JsonRedisCodec codec = new JsonRedisCodec(pattern);
+            TimeBean bean = TimeBean.sample();
+            String json = JsonUtil.beanToJson(bean, pattern);
+            Assert.isTrue(bean.equals(normalize(codec.toBean(codec.deserialize(json.getBytes(StandardCharsets.UTF_8)), TimeBean.class))), "读取JsonUtil写入的数据错误: " + pattern);
+
+            String listJson = JsonUtil.beanToJson(Collections.singletonList(bean), pattern);
+            List<TimeBean> list = codec.toList(listJson, TimeBean.class);
+            Assert.isTrue(list.size() == 1 && bean.equals(normalize(list.get(0))), "读取JsonUtil写入的列表错误: " + pattern);
+        }
+    }
+
+    /**
+     * JsonUtil也可以读取编解码器写入的数据，且忽略未知字段
+     */
+    @Test
+    public void testJsonUtilWhenWrittenByCodec() {
+        for (String pattern : PATTERNS) {
+            JsonRedisCodec codec = new JsonRedisCodec(pattern);
+            TimeBean bean = TimeBean.sample();
+            String json = new String(codec.serialize(bean), StandardCharsets.UTF_8);
+            Assert.isTrue(bean.equals(normalize(JsonUtil.jsonToBean(json, TimeBean.class, pattern))), "JsonUtil读取编解码器写入的数据错误: " + pattern);
+
+            String withUnknown = json.substring(0, json.length() - 1) + ",\"unknown\":1}";
+            Assert.isTrue(bean.equals(normalize(codec.toBean(withUnknown, TimeBean.class))), "未知字段处理错误: " + pattern);
+        }
+    }
+
+    /**
+     * Jackson读取ZonedDateTime时会转换为上下文时区，统一回UTC偏移后再比较
+     */
+    private TimeBean normalize(TimeBean bean) {
+        bean.setZonedDateTime(bean.getZonedDateTime().withZoneSameInstant(ZoneOffset.UTC));
+        return bean;
+    }
+
+    @Data
+    public static class TimeBean {
+
+        private LocalDateTime localDateTime;
+
+        private LocalDate localDate;
+
+        private LocalTime localTime;
+
+        private Instant instant;
+
+        private OffsetDateTime offsetDateTime;
+
+        private ZonedDateTime zonedDateTime;
+
+        private OffsetTime offsetTime;
+
+        private Year year;
+
+        private YearMonth yearMonth;
+
+        private MonthDay monthDay;
+
+        private Duration duration;
+
+        private Period period;
+
+        private Date date;
+
+        private BigDecimal amount;
+
+        private Long id;
+
+        private static TimeBean sample() {
+            TimeBean bean = new TimeBean();
+            bean.setLocalDateTime(LocalDateTime.of(2020, 7, 19, 0, 2, 1));
+            bean.setLocalDate(LocalDate.of(2020, 7, 19));
+            bean.setLocalTime(LocalTime.of(0, 2, 1));
+            bean.setInstant(Instant.ofEpochSecond(1595088121L));
+            bean.setOffsetDateTime(OffsetDateTime.of(2020, 7, 19, 0, 2, 1, 0, ZoneOffset.UTC));
+            bean.setZonedDateTime(ZonedDateTime.of(2020, 7, 19, 0, 2, 1, 0, ZoneOffset.UTC));
+            bean.setOffsetTime(OffsetTime.of(0, 2, 1, 0, ZoneOffset.UTC));
+            bean.setYear(Year.of(2020));
+            bean.setYearMonth(YearMonth.of(2020, 7));
+            bean.setMonthDay(MonthDay.of(7, 19));
+            bean.setDuration(Duration.ofSeconds(90));
+            bean.setPeriod(Period.ofDays(3));
+            bean.setDate(new Date(1595088121000L));
+            bean.setAmount(new BigDecimal("1.10"));
+            bean.setId(Long.MAX_VALUE);
+            return bean;
+        }
+
+    }
+
+}
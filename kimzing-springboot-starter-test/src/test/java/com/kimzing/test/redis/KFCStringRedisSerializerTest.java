@@ -0,0 +1,54 @@
+package com.kimzing.test.redis;
+
+import com.kimzing.redis.KFCStringRedisSerializer;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.Assert;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * 带前缀的key序列化.
+ *
+ * @author KimZing - kimzing@163.com
+ * @since 2026/10/18 07:24
+ */
+public class KFCStringRedisSerializerTest {
+
+    private final KFCStringRedisSerializer serializer = new KFCStringRedisSerializer("kimzing");
+
+    /**
+     * ASCII与非ASCII的key均与拼接字符串的结果一致，并可还原
+     */
+    @Test
+    public void testSerializeWhenSuccess() {
+        for (String key : new String[]{"user:1", "用户:1", ""}) {
+            byte[] bytes = serializer.serialize(key);
+            Assert.isTrue(Arrays.equals(("kimzing:" + key).getBytes(StandardCharsets.UTF_8), bytes), "序列化结果错误: " + key);
+            Assert.isTrue(key.equals(serializer.deserialize(bytes)), "反序列化结果错误: " + key);
+        }
+    }
+
+    /**
+     * 未配置前缀时原样编码
+     */
+    @Test
+    public void testSerializeWhenNoPrefix() {
+        KFCStringRedisSerializer noPrefix = new KFCStringRedisSerializer(null);
+        Assert.isTrue("user:1".equals(noPrefix.deserialize(noPrefix.serialize("user:1"))), "无前缀时结果错误");
+    }
+
+    /**
+     * 缺少前缀的key无法反序列化
+     */
+    @Test
+    public void testDeserializeWhenPrefixMissing() {
+        try {
+            serializer.deserialize("other:user:1".getBytes(StandardCharsets.UTF_8));
+        } catch (RuntimeException e) {
+            return;
+        }
+        throw new IllegalStateException("缺少前缀时未抛出异常");
+    }
+
+}
@@ -0,0 +1,104 @@
+package com.kimzing.test.redis;
+
+import com.kimzing.redis.KFCRedisTemplate;
+import com.kimzing.redis.cache.KimCache;
+import com.kimzing.redis.cache.KimCacheAspect;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.util.Assert;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 方法结果缓存切面的过期时间处理.
+ *
+ * @author KimZing - kimzing@163.com
+ * @since 2026/10/18 08:15
+ */
+public class KimCacheAspectTest {
+
+    private static RedisTestSupport redis;
+
+    private static KFCRedisTemplate kfcRedisTemplate;
+
+    private static CachedService target;
+
+    private static CachedService cachedService;
+
+    @BeforeAll
+    public static void start() throws IOException {
+        redis = new RedisTestSupport();
+        kfcRedisTemplate = redis.getKfcRedisTemplate();
+        target = new CachedService();
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.addAspect(new KimCacheAspect(kfcRedisTemplate));
+        cachedService = factory.getProxy();
+    }
+
+    @AfterAll
+    public static void stop() throws IOException {
+        redis.stop();
+    }
+
+    /**
+     * ttl为0时写入不过期的缓存，而不是被redis拒绝
+     */
+    @Test
+    public void testCacheWhenTtlIsZero() {
+        Assert.isTrue("v1".equals(cachedService.find("forever")), "首次调用结果错误");
+        Assert.isTrue("v1".equals(cachedService.find("forever")), "缓存命中结果错误");
+        Assert.isTrue(target.calls.get() == 1, "未命中缓存");
+        Assert.isTrue(kfcRedisTemplate.getExpire("cache:forever") == -1, "ttl为0时应不过期");
+    }
+
+    /**
+     * 空结果的ttl为0时同样不过期
+     */
+    @Test
+    public void testCacheNullWhenNullTtlIsZero() {
+        Assert.isNull(cachedService.findNull("empty"), "首次调用结果错误");
+        Assert.isTrue(kfcRedisTemplate.getExpire("cache:null:empty") == -1, "空结果ttl为0时应不过期");
+    }
+
+    /**
+     * 批量方法的ttl为0时同样不过期
+     */
+    @Test
+    public void testBatchCacheWhenTtlIsZero() {
+        Map<String, String> result = cachedService.findAll(Arrays.asList("a", "b"));
+        Assert.isTrue(result.size() == 2 && "v-a".equals(result.get("a")), "批量调用结果错误");
+        Assert.isTrue(kfcRedisTemplate.getExpire("cache:batch:a") == -1, "批量写入ttl为0时应不过期");
+    }
+
+    public static class CachedService {
+
+        private final AtomicInteger calls = new AtomicInteger();
+
+        @KimCache(key = "'cache:' + #p0", ttl = 0)
+        public String find(String id) {
+            calls.incrementAndGet();
+            return "v1";
+        }
+
+        @KimCache(key = "'cache:null:' + #p0", nullTtl = 0)
+        public String findNull(String id) {
+            return null;
+        }
+
+        @KimCache(key = "'cache:batch:' + #item", ttl = 0)
+        public Map<String, String> findAll(List<String> ids) {
+            Map<String, String> values = new LinkedHashMap<>();
+            ids.forEach(id -> values.put(id, "v-" + id));
+            return values;
+        }
+
+    }
+
+}
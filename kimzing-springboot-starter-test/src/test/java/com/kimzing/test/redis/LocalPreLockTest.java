@@ -0,0 +1,67 @@
+package com.kimzing.test.redis;
+
+import com.kimzing.redis.lock.LocalPreLock;
+import org.junit.jupiter.api.Test;
+import org.redisson.api.RLock;
+import org.springframework.util.Assert;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 本地预加锁.
+ *
+ * @author KimZing - kimzing@163.com
+ * @since 2026/10/18 07:42
+ */
+public class LocalPreLockTest {
+
+    /**
+     * 等待时间为负数时与Redisson一致只尝试一次，本地锁被占用时立即返回
+     */
+    @Test
+    public void testTryLockWhenNegativeWaitTime() throws Exception {
+        LocalPreLock localPreLock = new LocalPreLock();
+        CountDownLatch held = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> holder = executor.submit(() -> {
+                RLock lock = localPreLock.wrap(alwaysLocked(), "order:1");
+                lock.lock();
+                held.countDown();
+                release.await();
+                lock.unlock();
+                return null;
+            });
+            held.await();
+
+            RLock lock = localPreLock.wrap(alwaysLocked(), "order:1");
+            long start = System.nanoTime();
+            Assert.isTrue(!lock.tryLock(-1, TimeUnit.SECONDS), "本地锁被占用时仍然获取成功");
+            Assert.isTrue(!lock.tryLock(-1, 10, TimeUnit.SECONDS), "本地锁被占用时仍然获取成功");
+            Assert.isTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1), "负数等待时间被当作无限等待");
+
+            release.countDown();
+            holder.get();
+            Assert.isTrue(lock.tryLock(-1, TimeUnit.SECONDS), "本地锁空闲时获取失败");
+            lock.unlock();
+            Assert.isTrue(localPreLock.size() == 0, "本地锁未移除");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * 总能获取成功的分布式锁
+     */
+    private RLock alwaysLocked() {
+        return (RLock) Proxy.newProxyInstance(RLock.class.getClassLoader(), new Class[]{RLock.class},
+                (proxy, method, args) -> "tryLock".equals(method.getName()) ? Boolean.TRUE : null);
+    }
+
+}
@@ -0,0 +1,76 @@
+package com.kimzing.test.redis;
+
+import com.kimzing.redis.lock.LockMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.redisson.api.RLock;
+import org.springframework.util.Assert;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 分布式锁竞争统计的准入与淘汰.
+ *
+ * @author KimZing - kimzing@163.com
+ * @since 2026/10/18 08:17
+ */
+public class LockMetricsTest {
+
+    /**
+     * 统计已满后新出现的热点key仍能进入统计并发布为指标
+     */
+    @Test
+    public void testTopContendedKeysWhenTableFull() throws InterruptedException {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        LockMetrics lockMetrics = new LockMetrics(registry, 3);
+        // 超过统计上限的冷key，各失败一次
+        for (int i = 0; i < 2000; i++) {
+            lockMetrics.wrap(fakeLock(false, 0), "cold:" + i, LockMetrics.TYPE_LOCK).tryLock();
+        }
+        RLock hot = lockMetrics.wrap(fakeLock(false, 20), "hot", LockMetrics.TYPE_LOCK);
+        for (int i = 0; i < 3; i++) {
+            hot.tryLock(20, TimeUnit.MILLISECONDS);
+        }
+
+        List<Map.Entry<String, Long>> top = lockMetrics.getTopContendedKeys(1);
+        Assert.isTrue("hot".equals(top.get(0).getKey()), "统计已满后热点key未进入统计: " + top);
+        Assert.isTrue(top.get(0).getValue() >= 60, "热点key的等待时间错误: " + top);
+        Assert.isTrue(lockMetrics.getFailedCount("hot") == 3, "热点key的失败次数错误");
+
+        lockMetrics.refreshTopContendedKeys();
+        Assert.isTrue(registry.find("kfc.redis.lock.contention.wait").tag("key", "hot").gauge() != null,
+                "热点key未发布为指标");
+    }
+
+    /**
+     * 无竞争的加锁不进入统计
+     */
+    @Test
+    public void testTopContendedKeysWhenUncontended() {
+        LockMetrics lockMetrics = new LockMetrics(new SimpleMeterRegistry(), 3);
+        for (int i = 0; i < 100; i++) {
+            lockMetrics.wrap(fakeLock(true, 0), "order:" + i, LockMetrics.TYPE_LOCK).tryLock();
+        }
+        Assert.isTrue(lockMetrics.getTopContendedKeys(10).isEmpty(), "无竞争的加锁被计入统计");
+    }
+
+    /**
+     * tryLock按指定耗时返回固定结果的锁
+     */
+    private static RLock fakeLock(boolean acquired, long waitMillis) {
+        return (RLock) Proxy.newProxyInstance(RLock.class.getClassLoader(), new Class[]{RLock.class},
+                (proxy, method, args) -> {
+                    if ("tryLock".equals(method.getName())) {
+                        if (waitMillis > 0) {
+                            Thread.sleep(waitMillis);
+                        }
+                        return acquired;
+                    }
+                    return null;
+                });
+    }
+
+}
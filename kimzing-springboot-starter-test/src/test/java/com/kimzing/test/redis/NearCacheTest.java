@@ -0,0 +1,124 @@
+package com.kimzing.test.redis;
+
+import com.kimzing.redis.nearcache.NearCache;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.Assert;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 近端缓存失效与写入的并发测试.
+ *
+ * @author KimZing - kimzing@163.com
+ * @since 2026/10/18 07:21
+ */
+public class NearCacheTest {
+
+    /**
+     * 读取期间其他key失效，不影响本key写入
+     */
+    @Test
+    public void testPutWhenOtherKeyInvalidated() {
+        NearCache nearCache = new NearCache(100, Duration.ofMinutes(1));
+        long stamp = nearCache.stamp();
+        nearCache.invalidate("other");
+        nearCache.put("user:1", "v1", stamp);
+        Assert.isTrue("v1".equals(nearCache.get("user:1", String.class)), "其他key失效导致写入被丢弃");
+    }
+
+    /**
+     * 读取期间本key失效，放弃写入旧值
+     */
+    @Test
+    public void testPutWhenSameKeyInvalidated() {
+        NearCache nearCache = new NearCache(100, Duration.ofMinutes(1));
+        long stamp = nearCache.stamp();
+        nearCache.invalidate("user:1");
+        nearCache.put("user:1", "old", stamp);
+        Assert.isNull(nearCache.get("user:1", String.class), "已失效的旧值被写入缓存");
+
+        nearCache.put("user:1", "new", nearCache.stamp());
+        Assert.isTrue("new".equals(nearCache.get("user:1", String.class)), "失效之后的新写入被丢弃");
+    }
+
+    /**
+     * 清空缓存后放弃所有读取期间的写入
+     */
+    @Test
+    public void testPutWhenInvalidateAll() {
+        NearCache nearCache = new NearCache(100, Duration.ofMinutes(1));
+        long stamp = nearCache.stamp();
+        nearCache.invalidateAll();
+        nearCache.put("user:1", "old", stamp);
+        Assert.isNull(nearCache.get("user:1", String.class), "清空之前读取的值被写入缓存");
+    }
+
+    /**
+     * 失效记录超出容量后，仍不会接受被淘汰记录之前读取的值
+     */
+    @Test
+    public void testPutWhenInvalidationsOverflow() {
+        NearCache nearCache = new NearCache(16, Duration.ofMinutes(1));
+        long stamp = nearCache.stamp();
+        nearCache.invalidate("user:1");
+        for (int i = 0; i < 10000; i++) {
+            nearCache.invalidate("noise:" + i);
+        }
+        nearCache.put("user:1", "old", stamp);
+        Assert.isNull(nearCache.get("user:1", String.class), "失效记录淘汰后接受了旧值");
+    }
+
+    /**
+     * 写入与本key失效并发执行，无论先后最终都不会留下旧值；
+     * 同时其他key的失效流量不会阻止未失效key的写入
+     */
+    @Test
+    public void testConcurrentPutAndInvalidate() throws Exception {
+        NearCache nearCache = new NearCache(100000, Duration.ofMinutes(1));
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            for (int i = 0; i < 5000; i++) {
+                String staleKey = "stale:" + i;
+                String freshKey = "fresh:" + i;
+                long stamp = nearCache.stamp();
+                CountDownLatch start = new CountDownLatch(1);
+                Future<?> put = executor.submit(() -> {
+                    await(start);
+                    nearCache.put(staleKey, "old", stamp);
+                    nearCache.put(freshKey, "value", stamp);
+                });
+                Future<?> invalidate = executor.submit(() -> {
+                    await(start);
+                    nearCache.invalidate(staleKey);
+                });
+                Future<?> noise = executor.submit(() -> {
+                    await(start);
+                    nearCache.invalidate("noise:" + stamp);
+                });
+                start.countDown();
+                put.get(5, TimeUnit.SECONDS);
+                invalidate.get(5, TimeUnit.SECONDS);
+                noise.get(5, TimeUnit.SECONDS);
+
+                Assert.isNull(nearCache.get(staleKey, String.class), "并发失效后仍缓存旧值: " + staleKey);
+                Assert.isTrue("value".equals(nearCache.get(freshKey, String.class)), "其他key失效导致写入被丢弃: " + freshKey);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
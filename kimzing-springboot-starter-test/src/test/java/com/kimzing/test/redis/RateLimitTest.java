@@ -0,0 +1,152 @@
+package com.kimzing.test.redis;
+
+import com.kimzing.redis.KFCRedisTemplate;
+import com.kimzing.redis.limit.LocalTokenBuckets;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.Assert;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * 限流Lua脚本.
+ *
+ * @author KimZing - kimzing@163.com
+ * @since 2026/10/18 07:31
+ */
+public class RateLimitTest {
+
+    private static RedisTestSupport redis;
+
+    private static KFCRedisTemplate kfcRedisTemplate;
+
+    @BeforeAll
+    public static void start() throws IOException {
+        redis = new RedisTestSupport();
+        kfcRedisTemplate = redis.getKfcRedisTemplate();
+    }
+
+    @AfterAll
+    public static void stop() throws IOException {
+        redis.stop();
+    }
+
+    /**
+     * 令牌桶耗尽后拒绝，补充令牌后再次通过
+     */
+    @Test
+    public void testTryAcquireTokenWhenExhausted() throws InterruptedException {
+        for (int i = 0; i < 5; i++) {
+            Assert.isTrue(kfcRedisTemplate.tryAcquireToken("limit:token", 5, 10, 1), "桶容量内的请求被拒绝");
+        }
+        Assert.isTrue(!kfcRedisTemplate.tryAcquireToken("limit:token", 5, 10, 1), "桶已耗尽仍然通过");
+        Assert.isTrue(!kfcRedisTemplate.tryAcquireToken("limit:token:many", 5, 10, 6), "超过容量的请求被通过");
+
+        Thread.sleep(250);
+        Assert.isTrue(kfcRedisTemplate.tryAcquireToken("limit:token", 5, 10, 2), "补充的令牌不可用");
+    }
+
+    /**
+     * 多线程并发获取时，通过的请求数不超过桶容量
+     */
+    @Test
+    public void testTryAcquireTokenWhenConcurrent() throws Exception {
+        int accepted = concurrentAccepted(() -> kfcRedisTemplate.tryAcquireToken("limit:concurrent", 100, 0.001, 1));
+        Assert.isTrue(accepted == 100, "并发通过数错误: " + accepted);
+    }
+
+    /**
+     * 开启本地预检后结果与直接访问redis一致，且令牌不足时不再访问redis
+     */
+    @Test
+    public void testTryAcquireTokenWhenLocalPreCheck() {
+        LocalTokenBuckets localTokenBuckets = new LocalTokenBuckets(100);
+        kfcRedisTemplate.setLocalTokenBuckets(localTokenBuckets);
+        try {
+            for (int i = 0; i < 3; i++) {
+                Assert.isTrue(kfcRedisTemplate.tryAcquireToken("limit:local", 3, 0.001, 1), "桶容量内的请求被拒绝");
+            }
+            for (int i = 0; i < 10; i++) {
+                Assert.isTrue(!kfcRedisTemplate.tryAcquireToken("limit:local", 3, 0.001, 1), "桶已耗尽仍然通过");
+            }
+            Assert.isTrue(localTokenBuckets.getRejectCount() == 10, "本地预检未拦截");
+        } finally {
+            kfcRedisTemplate.setLocalTokenBuckets(null);
+        }
+    }
+
+    /**
+     * 滑动窗口内超过上限时拒绝，窗口滑过后再次通过
+     */
+    @Test
+    public void testTryAcquireWindowWhenExceeded() throws Exception {
+        Duration window = Duration.ofMillis(500);
+        for (int i = 0; i < 3; i++) {
+            Assert.isTrue(kfcRedisTemplate.tryAcquireWindow("limit:window", 3, window), "窗口上限内的请求被拒绝");
+        }
+        Assert.isTrue(!kfcRedisTemplate.tryAcquireWindow("limit:window", 3, window), "超过窗口上限仍然通过");
+
+        Thread.sleep(600);
+        Assert.isTrue(kfcRedisTemplate.tryAcquireWindow("limit:window", 3, window), "窗口滑过后仍被拒绝");
+
+        int accepted = concurrentAccepted(() -> kfcRedisTemplate.tryAcquireWindow("limit:window:concurrent", 50, Duration.ofMinutes(1)));
+        Assert.isTrue(accepted == 50, "并发通过数错误: " + accepted);
+    }
+
+    /**
+     * 窗口或速率不大于0时直接拒绝调用，不执行脚本
+     */
+    @Test
+    public void testTryAcquireWhenInvalidRate() {
+        assertRejected(() -> kfcRedisTemplate.tryAcquireWindow("limit:invalid", 3, Duration.ZERO), "窗口为0时未校验");
+        assertRejected(() -> kfcRedisTemplate.tryAcquireWindow("limit:invalid", 3, Duration.ofNanos(1)), "窗口小于1毫秒时未校验");
+        assertRejected(() -> kfcRedisTemplate.tryAcquireToken("limit:invalid", 3, 0, 1), "速率为0时未校验");
+        assertRejected(() -> kfcRedisTemplate.tryAcquireToken("limit:invalid", 3, 3.0 / 0, 1), "速率为无穷大时未校验");
+    }
+
+    private static void assertRejected(Runnable call, String message) {
+        try {
+            call.run();
+        } catch (IllegalArgumentException e) {
+            return;
+        }
+        throw new IllegalStateException(message);
+    }
+
+    /**
+     * 8个线程各请求50次，返回通过的次数
+     */
+    private int concurrentAccepted(Callable<Boolean> acquire) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> {
+                    int count = 0;
+                    for (int i = 0; i < 50; i++) {
+                        if (acquire.call()) {
+                            count++;
+                        }
+                    }
+                    return count;
+                }));
+            }
+            int accepted = 0;
+            for (Future<Integer> future : futures) {
+                accepted += future.get();
+            }
+            return accepted;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+}
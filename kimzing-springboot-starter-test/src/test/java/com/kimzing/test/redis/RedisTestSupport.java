@@ -0,0 +1,93 @@
+package com.kimzing.test.redis;
+
+import com.kimzing.redis.KFCCodecRedisSerializer;
+import com.kimzing.redis.KFCRedisTemplate;
+import com.kimzing.redis.KFCStringRedisSerializer;
+import com.kimzing.redis.codec.SmileRedisCodec;
+import org.redisson.Redisson;
+import org.redisson.api.RedissonClient;
+import org.redisson.config.Config;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+
+/**
+ * 基于内嵌redis的测试环境，不依赖spring上下文与外部redis.
+ * <p>
+ * 服务端开启键空间通知，供近端缓存失效相关的测试使用
+ * </p>
+ *
+ * @author KimZing - kimzing@163.com
+ * @since 2026/10/18 07:31
+ */
+public class RedisTestSupport {
+
+    private final int port;
+
+    private final RedisServer redisServer;
+
+    private final LettuceConnectionFactory connectionFactory;
+
+    private final KFCRedisTemplate kfcRedisTemplate;
+
+    private RedissonClient redissonClient;
+
+    public RedisTestSupport() throws IOException {
+        this.port = freePort();
+        this.redisServer = RedisServer.newRedisServer()
+                .port(port)
+                .setting("notify-keyspace-events Kg$xe")
+                .build();
+        this.redisServer.start();
+
+        this.connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("127.0.0.1", port));
+        this.connectionFactory.afterPropertiesSet();
+
+        SmileRedisCodec codec = new SmileRedisCodec();
+        this.kfcRedisTemplate = new KFCRedisTemplate(null, codec);
+        this.kfcRedisTemplate.setConnectionFactory(connectionFactory);
+        KFCStringRedisSerializer keySerializer = new KFCStringRedisSerializer("test");
+        this.kfcRedisTemplate.setKeySerializer(keySerializer);
+        this.kfcRedisTemplate.setHashKeySerializer(keySerializer);
+        KFCCodecRedisSerializer valueSerializer = new KFCCodecRedisSerializer(codec);
+        this.kfcRedisTemplate.setValueSerializer(valueSerializer);
+        this.kfcRedisTemplate.setHashValueSerializer(valueSerializer);
+        this.kfcRedisTemplate.afterPropertiesSet();
+    }
+
+    public KFCRedisTemplate getKfcRedisTemplate() {
+        return kfcRedisTemplate;
+    }
+
+    /**
+     * 连接内嵌redis的RedissonClient，首次调用时创建
+     *
+     * @return
+     */
+    public synchronized RedissonClient getRedissonClient() {
+        if (redissonClient == null) {
+            Config config = new Config();
+            config.useSingleServer().setAddress("redis://127.0.0.1:" + port);
+            redissonClient = Redisson.create(config);
+        }
+        return redissonClient;
+    }
+
+    public void stop() throws IOException {
+        if (redissonClient != null) {
+            redissonClient.shutdown();
+        }
+        connectionFactory.destroy();
+        redisServer.stop();
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+}
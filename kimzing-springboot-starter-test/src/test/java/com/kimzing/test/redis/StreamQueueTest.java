@@ -0,0 +1,74 @@
+package com.kimzing.test.redis;
+
+import com.kimzing.redis.stream.StreamMessage;
+import com.kimzing.redis.stream.StreamQueue;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.Assert;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Stream工作队列的认领.
+ *
+ * @author KimZing - kimzing@163.com
+ * @since 2026/10/18 07:34
+ */
+public class StreamQueueTest {
+
+    private static RedisTestSupport redis;
+
+    @BeforeAll
+    public static void start() throws IOException {
+        redis = new RedisTestSupport();
+    }
+
+    @AfterAll
+    public static void stop() throws IOException {
+        redis.stop();
+    }
+
+    /**
+     * pending列表前面的消息仍活跃时，继续向后分页认领已超时的消息
+     */
+    @Test
+    public void testClaimWhenHeadMessagesActive() throws InterruptedException {
+        StreamQueue<String> queue = redis.getKfcRedisTemplate().getStreamQueue("stream:claim", "group", String.class);
+        queue.createGroup();
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            ids.add(queue.add("message-" + i));
+        }
+        Assert.isTrue(queue.read("a", 10, null).size() == 6, "读取消息数量错误");
+
+        Thread.sleep(300);
+        // 前3条被其他消费者重新认领，空闲时间归零
+        Assert.isTrue(queue.claim("b", Duration.ZERO, 3, 0).size() == 3, "认领消息数量错误");
+
+        List<StreamMessage<String>> claimed = queue.claim("c", Duration.ofMillis(200), 3, 0);
+        List<String> claimedIds = claimed.stream().map(StreamMessage::getId).collect(Collectors.toList());
+        Assert.isTrue(ids.subList(3, 6).equals(claimedIds), "未认领到活跃消息之后的超时消息: " + claimedIds);
+        Assert.isTrue("message-3".equals(claimed.get(0).getPayload()), "消息内容错误");
+    }
+
+    /**
+     * 超过最大投递次数的消息被确认丢弃
+     */
+    @Test
+    public void testClaimWhenMaxDeliveriesExceeded() throws InterruptedException {
+        StreamQueue<String> queue = redis.getKfcRedisTemplate().getStreamQueue("stream:dead", "group", String.class);
+        queue.createGroup();
+        queue.add("message");
+        queue.read("a", 10, null);
+
+        Thread.sleep(50);
+        Assert.isTrue(queue.claim("b", Duration.ofMillis(10), 10, 1).isEmpty(), "超过投递次数的消息被认领");
+        Assert.isTrue(queue.pending(10).isEmpty(), "超过投递次数的消息未被确认");
+    }
+
+}
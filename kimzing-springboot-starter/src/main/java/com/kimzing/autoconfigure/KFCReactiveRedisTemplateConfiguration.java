@@ -0,0 +1,53 @@
+package com.kimzing.autoconfigure;
+
+import com.kimzing.autoconfigure.properties.KFCRedisTemplateProperties;
+import com.kimzing.redis.KFCReactiveRedisTemplate;
+import com.kimzing.redis.KFCStringRedisSerializer;
+import com.kimzing.redis.codec.JsonRedisCodec;
+import com.kimzing.redis.codec.KFCRedisCodec;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.redis.RedisReactiveAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import reactor.core.publisher.Flux;
+
+/**
+ * KFCReactiveRedisTemplate配置.
+ * <p>
+ * 仅当存在ReactiveRedisConnectionFactory时生效
+ * </p>
+ *
+ * @author KimZing - kimzing@163.com
+ * @since 2026/10/18 06:53
+ */
+@Configuration
+@EnableConfigurationProperties({KFCRedisTemplateProperties.class})
+@ConditionalOnClass({ReactiveRedisTemplate.class, Flux.class})
+@AutoConfigureAfter(value = {RedisAutoConfiguration.class, RedisReactiveAutoConfiguration.class,
+        KFCRedisTemplateConfiguration.class},
+        name = "org.redisson.spring.starter.RedissonAutoConfiguration")
+public class KFCReactiveRedisTemplateConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean(KFCReactiveRedisTemplate.class)
+    @ConditionalOnBean(ReactiveRedisConnectionFactory.class)
+    @ConditionalOnProperty(prefix = "kimzing.redis", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public KFCReactiveRedisTemplate kfcReactiveRedisTemplate(KFCRedisTemplateProperties kfcRedisTemplateProperties,
+                                                             ReactiveRedisConnectionFactory reactiveRedisConnectionFactory,
+                                                             ObjectProvider<KFCRedisCodec> kfcRedisCodec) {
+        KFCRedisCodec codec = kfcRedisCodec.getIfAvailable(
+                () -> new JsonRedisCodec(kfcRedisTemplateProperties.getTimePattern()));
+        KFCStringRedisSerializer kfcStringRedisSerializer = new KFCStringRedisSerializer(kfcRedisTemplateProperties.getPrefix());
+        return new KFCReactiveRedisTemplate(reactiveRedisConnectionFactory, kfcStringRedisSerializer, codec);
+    }
+
+}
@@ -1,10 +1,39 @@
 package com.kimzing.autoconfigure;
 
 import com.kimzing.autoconfigure.properties.KFCRedisTemplateProperties;
+import com.kimzing.redis.KFCCodecRedisSerializer;
 import com.kimzing.redis.KFCJsonRedisSerializer;
 import com.kimzing.redis.KFCRedisTemplate;
 import com.kimzing.redis.KFCStringRedisSerializer;
+import com.kimzing.redis.cache.KimCacheAspect;
+import com.kimzing.redis.counter.BufferedCounter;
+import com.kimzing.redis.hotkey.HotKeyDetector;
+import com.kimzing.redis.hotkey.HotKeyEndpoint;
+import com.kimzing.redis.limit.LocalTokenBuckets;
+import com.kimzing.redis.limit.RateLimitAspect;
+import com.kimzing.redis.lock.LockMetrics;
+import com.kimzing.redis.metrics.CommandMetrics;
+import com.kimzing.redis.metrics.DefaultKeyPatternNormalizer;
+import com.kimzing.redis.metrics.KeyPatternNormalizer;
+import com.kimzing.redis.codec.CompressingRedisCodec;
+import com.kimzing.redis.codec.JsonRedisCodec;
+import com.kimzing.redis.codec.KFCRedisCodec;
+import com.kimzing.redis.codec.SmileRedisCodec;
+import com.kimzing.redis.nearcache.NearCache;
+import com.kimzing.redis.nearcache.NearCacheInvalidator;
+import com.kimzing.redis.warmup.CacheWarmer;
+import com.kimzing.redis.warmup.CacheWarmupRunner;
+import com.kimzing.utils.exception.ExceptionManager;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.aspectj.lang.annotation.Aspect;
 import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -15,6 +44,9 @@ import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.StringRedisTemplate;
 
+import java.util.List;
+import java.util.stream.Collectors;
+
 /**
  * KFCRedisTemplate配置.
  *
@@ -26,28 +58,290 @@ import org.springframework.data.redis.core.StringRedisTemplate;
 @ConditionalOnClass({RedisTemplate.class, RedissonClient.class})
 public class KFCRedisTemplateConfiguration {
 
+    /**
+     * 值编解码器，根据kimzing.redis.codec选择，可自行注入KFCRedisCodec进行替换
+     *
+     * @param kfcRedisTemplateProperties
+     * @return
+     */
+    @Bean
+    @ConditionalOnMissingBean(KFCRedisCodec.class)
+    public KFCRedisCodec kfcRedisCodec(KFCRedisTemplateProperties kfcRedisTemplateProperties) {
+        KFCRedisCodec kfcRedisCodec = createCodec(kfcRedisTemplateProperties);
+        KFCRedisTemplateProperties.CompressionProperties compression = kfcRedisTemplateProperties.getCompression();
+        if (Boolean.TRUE.equals(compression.getEnabled())) {
+            return new CompressingRedisCodec(kfcRedisCodec, compression.getThreshold(), compression.getAlgorithm());
+        }
+        return kfcRedisCodec;
+    }
+
+    private KFCRedisCodec createCodec(KFCRedisTemplateProperties kfcRedisTemplateProperties) {
+        String codec = kfcRedisTemplateProperties.getCodec();
+        if (codec == null || JsonRedisCodec.NAME.equalsIgnoreCase(codec)) {
+            return new JsonRedisCodec(kfcRedisTemplateProperties.getTimePattern());
+        }
+        if (SmileRedisCodec.NAME.equalsIgnoreCase(codec)) {
+            return new SmileRedisCodec();
+        }
+        throw ExceptionManager.createByCodeAndMessage("REDIS_1003", "不支持的redis编解码方式: " + codec);
+    }
+
+    /**
+     * 近端缓存
+     *
+     * @param kfcRedisTemplateProperties
+     * @return
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "kimzing.redis.near-cache", name = "enabled", havingValue = "true")
+    public NearCache kfcNearCache(KFCRedisTemplateProperties kfcRedisTemplateProperties) {
+        KFCRedisTemplateProperties.NearCacheProperties nearCacheProperties = kfcRedisTemplateProperties.getNearCache();
+        return new NearCache(nearCacheProperties.getMaximumSize(), nearCacheProperties.getTtl());
+    }
+
+    /**
+     * 近端缓存失效通知订阅
+     *
+     * @param redissonClient
+     * @param kfcNearCache
+     * @param kfcRedisTemplateProperties
+     * @return
+     */
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    @ConditionalOnProperty(prefix = "kimzing.redis.near-cache", name = "enabled", havingValue = "true")
+    public NearCacheInvalidator kfcNearCacheInvalidator(RedissonClient redissonClient,
+                                                        NearCache kfcNearCache,
+                                                        KFCRedisTemplateProperties kfcRedisTemplateProperties) {
+        return new NearCacheInvalidator(redissonClient, kfcNearCache, kfcRedisTemplateProperties.getPrefix());
+    }
+
+    /**
+     * 热点key探测
+     *
+     * @param kfcRedisTemplateProperties
+     * @return
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "kimzing.redis.hot-key", name = "enabled", havingValue = "true")
+    public HotKeyDetector kfcHotKeyDetector(KFCRedisTemplateProperties kfcRedisTemplateProperties) {
+        KFCRedisTemplateProperties.HotKeyProperties hotKey = kfcRedisTemplateProperties.getHotKey();
+        return new HotKeyDetector(hotKey.getSampleRate(), hotKey.getThreshold(), hotKey.getWindow(), hotKey.getTopK());
+    }
+
     @Bean
     @ConditionalOnProperty(prefix = "kimzing.redis", name = "enabled", havingValue = "true", matchIfMissing = true)
     public KFCRedisTemplate kfcRedisTemplate(RedissonClient redissonClient,
                                              KFCRedisTemplateProperties kfcRedisTemplateProperties,
-                                             RedisConnectionFactory redisConnectionFactory) {
-        String timePattern = kfcRedisTemplateProperties.getTimePattern();
+                                             RedisConnectionFactory redisConnectionFactory,
+                                             KFCRedisCodec kfcRedisCodec,
+                                             ObjectProvider<NearCache> kfcNearCache,
+                                             ObjectProvider<LockMetrics> kfcLockMetrics,
+                                             ObjectProvider<HotKeyDetector> kfcHotKeyDetector,
+                                             ObjectProvider<CommandMetrics> kfcCommandMetrics) {
         String prefix = kfcRedisTemplateProperties.getPrefix();
 
-        KFCRedisTemplate kfcRedisTemplate = new KFCRedisTemplate(redissonClient, timePattern);
+        KFCRedisTemplate kfcRedisTemplate = new KFCRedisTemplate(redissonClient, kfcRedisCodec);
         kfcRedisTemplate.setConnectionFactory(redisConnectionFactory);
 
         // 设置key和value的序列化方式
         KFCStringRedisSerializer kfcStringRedisSerializer = new KFCStringRedisSerializer(prefix);
         kfcRedisTemplate.setKeySerializer(kfcStringRedisSerializer);
         kfcRedisTemplate.setHashKeySerializer(kfcStringRedisSerializer);
-        KFCJsonRedisSerializer kfcJsonRedisSerializer = new KFCJsonRedisSerializer(timePattern);
-        kfcRedisTemplate.setValueSerializer(kfcJsonRedisSerializer);
-        kfcRedisTemplate.setHashValueSerializer(kfcJsonRedisSerializer);
+        KFCCodecRedisSerializer kfcCodecRedisSerializer = new KFCCodecRedisSerializer(kfcRedisCodec);
+        kfcRedisTemplate.setValueSerializer(kfcCodecRedisSerializer);
+        kfcRedisTemplate.setHashValueSerializer(kfcCodecRedisSerializer);
+        kfcRedisTemplate.setParallelDecodeThreshold(kfcRedisTemplateProperties.getParallelDecodeThreshold());
+        kfcRedisTemplate.setPipelineBatchSize(kfcRedisTemplateProperties.getPipelineBatchSize());
+        kfcNearCache.ifAvailable(kfcRedisTemplate::setNearCache);
+        kfcLockMetrics.ifAvailable(kfcRedisTemplate::setLockMetrics);
+        kfcCommandMetrics.ifAvailable(kfcRedisTemplate::setCommandMetrics);
+        kfcRedisTemplate.setEarlyRefreshBeta(kfcRedisTemplateProperties.getLoad().getEarlyRefreshBeta());
+        kfcRedisTemplate.setLoadLockWait(kfcRedisTemplateProperties.getLoad().getLockWait());
+        kfcHotKeyDetector.ifAvailable(hotKeyDetector -> {
+            kfcRedisTemplate.setHotKeyDetector(hotKeyDetector);
+            KFCRedisTemplateProperties.HotKeyProperties hotKey = kfcRedisTemplateProperties.getHotKey();
+            if (Boolean.TRUE.equals(hotKey.getPromote())) {
+                kfcRedisTemplate.setHotKeyCache(new NearCache(hotKey.getTopK(), hotKey.getLocalTtl()));
+            }
+        });
+        KFCRedisTemplateProperties.RateLimitProperties rateLimit = kfcRedisTemplateProperties.getRateLimit();
+        if (Boolean.TRUE.equals(rateLimit.getLocalPreCheck())) {
+            kfcRedisTemplate.setLocalTokenBuckets(new LocalTokenBuckets(rateLimit.getLocalMaximumKeys()));
+        }
 
         return kfcRedisTemplate;
     }
 
+    /**
+     * 注解缓存切面
+     *
+     * @param kfcRedisTemplate
+     * @return
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "kimzing.redis.cache", name = "enabled", havingValue = "true")
+    @ConditionalOnClass(Aspect.class)
+    public KimCacheAspect kimCacheAspect(KFCRedisTemplate kfcRedisTemplate) {
+        return new KimCacheAspect(kfcRedisTemplate);
+    }
+
+    /**
+     * 注解限流切面
+     *
+     * @param kfcRedisTemplate
+     * @return
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "kimzing.redis.rate-limit", name = "enabled", havingValue = "true")
+    @ConditionalOnClass(Aspect.class)
+    public RateLimitAspect rateLimitAspect(KFCRedisTemplate kfcRedisTemplate) {
+        return new RateLimitAspect(kfcRedisTemplate);
+    }
+
+    /**
+     * 缓冲计数器，容器关闭时写入剩余增量
+     *
+     * @param kfcRedisTemplate
+     * @param kfcRedisTemplateProperties
+     * @return
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnBean(KFCRedisTemplate.class)
+    @ConditionalOnProperty(prefix = "kimzing.redis.buffered-counter", name = "enabled", havingValue = "true")
+    public BufferedCounter kfcBufferedCounter(KFCRedisTemplate kfcRedisTemplate,
+                                              KFCRedisTemplateProperties kfcRedisTemplateProperties) {
+        KFCRedisTemplateProperties.BufferedCounterProperties bufferedCounter = kfcRedisTemplateProperties.getBufferedCounter();
+        return kfcRedisTemplate.createBufferedCounter(bufferedCounter.getFlushInterval(), bufferedCounter.getMaxKeys());
+    }
+
+    /**
+     * 缓存预热，仅当存在CacheWarmer时生效
+     *
+     * @param kfcRedisTemplate
+     * @param cacheWarmers
+     * @param kfcRedisTemplateProperties
+     * @return
+     */
+    @Bean
+    @ConditionalOnBean({CacheWarmer.class, KFCRedisTemplate.class})
+    @ConditionalOnProperty(prefix = "kimzing.redis.warmup", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public CacheWarmupRunner kfcCacheWarmupRunner(KFCRedisTemplate kfcRedisTemplate,
+                                                  ObjectProvider<CacheWarmer> cacheWarmers,
+                                                  ObjectProvider<NearCacheInvalidator> kfcNearCacheInvalidator,
+                                                  KFCRedisTemplateProperties kfcRedisTemplateProperties) {
+        KFCRedisTemplateProperties.WarmupProperties warmup = kfcRedisTemplateProperties.getWarmup();
+        List<CacheWarmer> warmers = cacheWarmers.orderedStream().collect(Collectors.toList());
+        CacheWarmupRunner cacheWarmupRunner = new CacheWarmupRunner(kfcRedisTemplate, warmers,
+                warmup.getConcurrency(), warmup.getTimeout());
+        kfcNearCacheInvalidator.ifAvailable(cacheWarmupRunner::setNearCacheInvalidator);
+        return cacheWarmupRunner;
+    }
+
+    /**
+     * 热点key的actuator端点，仅当存在actuator依赖时生效
+     */
+    @Configuration
+    @ConditionalOnClass(Endpoint.class)
+    @ConditionalOnProperty(prefix = "kimzing.redis.hot-key", name = "enabled", havingValue = "true")
+    static class KFCRedisHotKeyEndpointConfiguration {
+
+        @Bean
+        public HotKeyEndpoint kfcHotKeyEndpoint(HotKeyDetector kfcHotKeyDetector) {
+            return new HotKeyEndpoint(kfcHotKeyDetector);
+        }
+
+    }
+
+    /**
+     * Micrometer指标，仅当存在Micrometer依赖时生效
+     */
+    @Configuration
+    @ConditionalOnClass(MeterRegistry.class)
+    @ConditionalOnProperty(prefix = "kimzing.redis.metrics", name = "enabled", havingValue = "true", matchIfMissing = true)
+    static class KFCRedisMetricsConfiguration {
+
+        /**
+         * 分布式锁指标，需配置kimzing.redis.metrics.lock-enabled=true开启
+         *
+         * @param meterRegistry
+         * @param kfcRedisTemplateProperties
+         * @return
+         */
+        @Bean
+        @ConditionalOnProperty(prefix = "kimzing.redis.metrics", name = "lock-enabled", havingValue = "true")
+        public LockMetrics kfcLockMetrics(ObjectProvider<MeterRegistry> meterRegistry,
+                                          KFCRedisTemplateProperties kfcRedisTemplateProperties) {
+            return new LockMetrics(meterRegistry.getIfAvailable(() -> Metrics.globalRegistry),
+                    kfcRedisTemplateProperties.getMetrics().getLockTopKeys());
+        }
+
+        /**
+         * 命令指标使用的key归一化，可自行注入KeyPatternNormalizer进行替换
+         *
+         * @return
+         */
+        @Bean
+        @ConditionalOnMissingBean(KeyPatternNormalizer.class)
+        @ConditionalOnProperty(prefix = "kimzing.redis.metrics", name = "command-enabled", havingValue = "true")
+        public KeyPatternNormalizer kfcKeyPatternNormalizer() {
+            return new DefaultKeyPatternNormalizer();
+        }
+
+        /**
+         * redis命令指标
+         *
+         * @param meterRegistry
+         * @param kfcKeyPatternNormalizer
+         * @param kfcRedisTemplateProperties
+         * @return
+         */
+        @Bean
+        @ConditionalOnProperty(prefix = "kimzing.redis.metrics", name = "command-enabled", havingValue = "true")
+        public CommandMetrics kfcCommandMetrics(ObjectProvider<MeterRegistry> meterRegistry,
+                                                KeyPatternNormalizer kfcKeyPatternNormalizer,
+                                                KFCRedisTemplateProperties kfcRedisTemplateProperties) {
+            KFCRedisTemplateProperties.MetricsProperties metrics = kfcRedisTemplateProperties.getMetrics();
+            return new CommandMetrics(meterRegistry.getIfAvailable(() -> Metrics.globalRegistry), kfcKeyPatternNormalizer,
+                    metrics.getMaxKeyPatterns(), Boolean.TRUE.equals(metrics.getPercentileHistogram()));
+        }
+
+        /**
+         * 值压缩指标，仅当开启压缩时记录
+         *
+         * @param kfcRedisCodec
+         * @return
+         */
+        @Bean
+        @ConditionalOnProperty(prefix = "kimzing.redis.compression", name = "enabled", havingValue = "true")
+        public MeterBinder kfcCompressionMetrics(ObjectProvider<KFCRedisCodec> kfcRedisCodec) {
+            return registry -> {
+                KFCRedisCodec codec = kfcRedisCodec.getIfAvailable();
+                if (!(codec instanceof CompressingRedisCodec)) {
+                    return;
+                }
+                CompressingRedisCodec compressingCodec = (CompressingRedisCodec) codec;
+                Gauge.builder("kfc.redis.codec.compression.ratio", compressingCodec, CompressingRedisCodec::getCompressionRatio)
+                        .description("Compressed size divided by original size")
+                        .register(registry);
+                FunctionCounter.builder("kfc.redis.codec.compressed", compressingCodec, CompressingRedisCodec::getCompressedCount)
+                        .description("Number of compressed values")
+                        .register(registry);
+                FunctionCounter.builder("kfc.redis.codec.compress.skipped", compressingCodec, CompressingRedisCodec::getSkippedCount)
+                        .description("Number of values stored uncompressed because compression did not reduce their size")
+                        .register(registry);
+                FunctionCounter.builder("kfc.redis.codec.compress.time", compressingCodec, c -> c.getCompressCpuNanos() / 1e9)
+                        .description("CPU time spent compressing values")
+                        .baseUnit("seconds")
+                        .register(registry);
+                FunctionCounter.builder("kfc.redis.codec.decompress.time", compressingCodec, c -> c.getDecompressCpuNanos() / 1e9)
+                        .description("CPU time spent decompressing values")
+                        .baseUnit("seconds")
+                        .register(registry);
+            };
+        }
+
+    }
+
     @Bean
     @ConditionalOnMissingBean(name = "redisTemplate")
     public RedisTemplate redisTemplate( KFCRedisTemplateProperties kfcRedisTemplateProperties,
@@ -2,8 +2,15 @@ package com.kimzing.autoconfigure;
 
 import com.kimzing.autoconfigure.properties.LogProperties;
 import com.kimzing.log.LogAspect;
+import com.kimzing.log.LogInfo;
+import com.kimzing.log.async.AsyncLogDispatcher;
 import com.kimzing.log.impl.DefaultLogAspect;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -28,13 +35,57 @@ public class LogAspectAutoConfiguration {
      * 日志
      *
      * @param logProperties
+     * @param kfcAsyncLogDispatcher
      * @return
      */
     @Bean
     @ConditionalOnMissingBean(LogAspect.class)
-    public LogAspect logAspect(LogProperties logProperties) {
-        DefaultLogAspect defaultLogAspect = new DefaultLogAspect();
+    public LogAspect logAspect(LogProperties logProperties,
+                               ObjectProvider<AsyncLogDispatcher<LogInfo>> kfcAsyncLogDispatcher) {
+        DefaultLogAspect defaultLogAspect = new DefaultLogAspect(kfcAsyncLogDispatcher.getIfAvailable());
         return defaultLogAspect;
     }
 
+    /**
+     * 异步日志分发器，关闭时打印缓冲区中剩余的日志
+     *
+     * @param logProperties
+     * @return
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "kimzing.log.async", name = "enabled", havingValue = "true")
+    public AsyncLogDispatcher<LogInfo> kfcAsyncLogDispatcher(LogProperties logProperties) {
+        LogProperties.AsyncProperties async = logProperties.getAsync();
+        return new AsyncLogDispatcher<>(async.getBufferSize(), async.getBatchSize(), async.getOverflowPolicy(),
+                async.getSampleRate(), DefaultLogAspect::printLogInfos);
+    }
+
+    /**
+     * 异步日志指标，仅当存在Micrometer依赖时生效
+     */
+    @Configuration
+    @ConditionalOnClass(MeterRegistry.class)
+    @ConditionalOnProperty(prefix = "kimzing.log.async", name = "enabled", havingValue = "true")
+    static class AsyncLogMetricsConfiguration {
+
+        @Bean
+        public MeterBinder kfcAsyncLogMetrics(AsyncLogDispatcher<LogInfo> kfcAsyncLogDispatcher) {
+            return registry -> {
+                Gauge.builder("kfc.log.async.queue.size", kfcAsyncLogDispatcher, AsyncLogDispatcher::getQueueDepth)
+                        .description("Number of log events waiting in the buffer")
+                        .register(registry);
+                Gauge.builder("kfc.log.async.queue.capacity", kfcAsyncLogDispatcher, AsyncLogDispatcher::getCapacity)
+                        .description("Capacity of the log buffer")
+                        .register(registry);
+                FunctionCounter.builder("kfc.log.async.dropped", kfcAsyncLogDispatcher, AsyncLogDispatcher::getDroppedCount)
+                        .description("Number of log events dropped because the buffer was full")
+                        .register(registry);
+                FunctionCounter.builder("kfc.log.async.sampled", kfcAsyncLogDispatcher, AsyncLogDispatcher::getSampledCount)
+                        .description("Number of log events discarded by sampling")
+                        .register(registry);
+            };
+        }
+
+    }
+
 }
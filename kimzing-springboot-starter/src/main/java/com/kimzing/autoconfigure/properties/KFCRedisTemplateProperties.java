@@ -2,6 +2,9 @@ package com.kimzing.autoconfigure.properties;
 
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.Assert;
+
+import java.time.Duration;
 
 /**
  * Spring容器加载的属性文件.
@@ -28,4 +31,269 @@ public class KFCRedisTemplateProperties {
      */
     private String timePattern = "yyyy-MM-dd HH:mm";
 
+    /**
+     * redis值的编解码方式: json(默认)、smile(二进制格式，需引入jackson-dataformat-smile依赖)
+     */
+    private String codec = "json";
+
+    /**
+     * 批量读取时并行反序列化的元素个数阈值，小于等于0时不开启
+     */
+    private Integer parallelDecodeThreshold = 0;
+
+    /**
+     * 管道批量读写时，单次管道中包含的命令个数
+     */
+    private Integer pipelineBatchSize = 500;
+
+    /**
+     * 值压缩配置
+     */
+    private CompressionProperties compression = new CompressionProperties();
+
+    /**
+     * 近端缓存配置
+     */
+    private NearCacheProperties nearCache = new NearCacheProperties();
+
+    /**
+     * getOrLoad回源加载配置
+     */
+    private LoadProperties load = new LoadProperties();
+
+    /**
+     * 注解缓存配置
+     */
+    private CacheProperties cache = new CacheProperties();
+
+    /**
+     * 限流配置
+     */
+    private RateLimitProperties rateLimit = new RateLimitProperties();
+
+    /**
+     * 热点key探测配置
+     */
+    private HotKeyProperties hotKey = new HotKeyProperties();
+
+    /**
+     * 缓存预热配置
+     */
+    private WarmupProperties warmup = new WarmupProperties();
+
+    /**
+     * 缓冲计数器配置
+     */
+    private BufferedCounterProperties bufferedCounter = new BufferedCounterProperties();
+
+    /**
+     * Micrometer指标配置
+     */
+    private MetricsProperties metrics = new MetricsProperties();
+
+    @Data
+    public static class CompressionProperties {
+
+        /**
+         * 是否开启值压缩
+         */
+        private Boolean enabled = false;
+
+        /**
+         * 编码后达到该字节数时进行压缩
+         */
+        private Integer threshold = 4096;
+
+        /**
+         * 压缩算法: deflate(默认)、lz4(需引入lz4-java依赖)
+         */
+        private String algorithm = "deflate";
+
+    }
+
+    @Data
+    public static class NearCacheProperties {
+
+        /**
+         * 是否开启近端缓存，需在redis服务端开启键空间通知
+         */
+        private Boolean enabled = false;
+
+        /**
+         * 最大缓存个数
+         */
+        private Integer maximumSize = 10000;
+
+        /**
+         * 写入后的存活时间
+         */
+        private Duration ttl = Duration.ofSeconds(60);
+
+    }
+
+    @Data
+    public static class LoadProperties {
+
+        /**
+         * 提前刷新的系数，越大越倾向于在过期前刷新，小于等于0时不开启
+         */
+        private Double earlyRefreshBeta = 1.0;
+
+        /**
+         * 跨节点加载时获取分布式锁的等待时间
+         */
+        private Duration lockWait = Duration.ofSeconds(3);
+
+    }
+
+    @Data
+    public static class CacheProperties {
+
+        /**
+         * 是否开启@KimCache注解缓存
+         */
+        private Boolean enabled = false;
+
+    }
+
+    @Data
+    public static class RateLimitProperties {
+
+        /**
+         * 是否开启@RateLimited注解限流
+         */
+        private Boolean enabled = false;
+
+        /**
+         * 令牌桶限流是否开启本地预检
+         */
+        private Boolean localPreCheck = true;
+
+        /**
+         * 本地预检最多保存的key数量
+         */
+        private Integer localMaximumKeys = 10000;
+
+    }
+
+    @Data
+    public static class HotKeyProperties {
+
+        /**
+         * 是否开启热点key探测
+         */
+        private Boolean enabled = false;
+
+        /**
+         * 采样率，每sample-rate次访问统计一次
+         */
+        private Integer sampleRate = 10;
+
+        /**
+         * 统计窗口
+         */
+        private Duration window = Duration.ofSeconds(10);
+
+        /**
+         * 窗口内访问次数达到该值时视为热点
+         */
+        private Long threshold = 1000L;
+
+        /**
+         * 最多保留的热点个数
+         */
+        private Integer topK = 50;
+
+        /**
+         * 是否将热点key提升到本地缓存
+         */
+        private Boolean promote = true;
+
+        /**
+         * 热点key本地缓存的存活时间
+         */
+        private Duration localTtl = Duration.ofSeconds(2);
+
+    }
+
+    @Data
+    public static class WarmupProperties {
+
+        /**
+         * 存在CacheWarmer时是否在启动时预热
+         */
+        private Boolean enabled = true;
+
+        /**
+         * 最多同时执行的预热个数
+         */
+        private Integer concurrency = 4;
+
+        /**
+         * 整体超时时间，超时后不再阻塞启动
+         */
+        private Duration timeout = Duration.ofSeconds(60);
+
+        public void setConcurrency(Integer concurrency) {
+            Assert.isTrue(concurrency != null && concurrency > 0, "kimzing.redis.warmup.concurrency must be greater than 0!");
+            this.concurrency = concurrency;
+        }
+
+    }
+
+    @Data
+    public static class BufferedCounterProperties {
+
+        /**
+         * 是否注册缓冲计数器Bean
+         */
+        private Boolean enabled = false;
+
+        /**
+         * 写入redis的间隔
+         */
+        private Duration flushInterval = Duration.ofSeconds(1);
+
+        /**
+         * 缓冲的key数量达到该值时立即写入
+         */
+        private Integer maxKeys = 10000;
+
+    }
+
+    @Data
+    public static class MetricsProperties {
+
+        /**
+         * 存在Micrometer时是否记录指标
+         */
+        private Boolean enabled = true;
+
+        /**
+         * 是否记录每条命令的耗时与key/value大小
+         */
+        private Boolean commandEnabled = false;
+
+        /**
+         * 是否记录分布式锁的等待、持有时间与竞争情况，开启后getLock返回带指标记录的代理
+         */
+        private Boolean lockEnabled = false;
+
+        /**
+         * 发布为指标的竞争最激烈的锁key个数
+         */
+        private Integer lockTopKeys = 10;
+
+        /**
+         * 命令指标最多记录的key模式个数，超过后记为other
+         */
+        private Integer maxKeyPatterns = 500;
+
+        /**
+         * 命令指标是否发布直方图
+         */
+        private Boolean percentileHistogram = false;
+
+    }
+
 }
@@ -1,5 +1,6 @@
 package com.kimzing.autoconfigure.properties;
 
+import com.kimzing.log.async.OverflowPolicy;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
@@ -20,4 +21,40 @@ public class LogProperties {
      */
     private Boolean enabled;
 
-}
\ No newline at end of file
+    /**
+     * 异步日志配置
+     */
+    private AsyncProperties async = new AsyncProperties();
+
+    @Data
+    public static class AsyncProperties {
+
+        /**
+         * 是否开启异步日志，开启后日志由后台线程批量打印。
+         * 参数与返回值在后台线程打印时才执行toString，若业务线程在方法返回后继续修改这些对象，打印的是修改后的值
+         */
+        private Boolean enabled = false;
+
+        /**
+         * 缓冲区大小，向上取整为2的幂
+         */
+        private Integer bufferSize = 8192;
+
+        /**
+         * 后台线程每批最多打印的日志数
+         */
+        private Integer batchSize = 256;
+
+        /**
+         * 缓冲区满时的处理策略: drop(默认)、sample、block
+         */
+        private OverflowPolicy overflowPolicy = OverflowPolicy.DROP;
+
+        /**
+         * sample策略下，缓冲区使用超过一半后每sampleRate条保留一条
+         */
+        private Integer sampleRate = 10;
+
+    }
+
+}
@@ -1,6 +1,5 @@
 package com.kimzing.log;
 
-import com.kimzing.utils.date.DateUtil;
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.AfterThrowing;
@@ -10,8 +9,7 @@ import org.aspectj.lang.annotation.Pointcut;
 import org.aspectj.lang.reflect.MethodSignature;
 import org.springframework.beans.factory.annotation.Value;
 
-import java.lang.annotation.Annotation;
-import java.util.*;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 日志切面基础类.
@@ -25,8 +23,17 @@ import java.util.*;
 @Aspect
 public abstract class LogAspect {
 
+    private LogTimeFormatter timeFormatter = LogTimeFormatter.ofPattern(LogTimeFormatter.DEFAULT_PATTERN);
+
+    /**
+     * 设置日志时间格式，格式化器按格式缓存
+     *
+     * @param timePattern
+     */
     @Value("${base.log.time-pattern:yyyy-MM-dd HH:mm:ss:SSS}")
-    private String timePattern;
+    public void setTimePattern(String timePattern) {
+        this.timeFormatter = LogTimeFormatter.ofPattern(timePattern);
+    }
 
     @Pointcut("@annotation(com.kimzing.log.LogKim)")
     public void logPointCut() {}
@@ -41,14 +48,16 @@ public abstract class LogAspect {
     @Around("logPointCut()")
     public Object around(ProceedingJoinPoint joinPoint) throws Throwable {
         long startTimeOfMethod = System.currentTimeMillis();
+        long startNanos = System.nanoTime();
         Object result = joinPoint.proceed();
-        long endTimeOfMethod = System.currentTimeMillis();
+        long elapsedNanos = System.nanoTime() - startNanos;
 
         LogInfo.LogInfoBuilder builder = LogInfo.builder()
                 .result(result)
-                .startTime(DateUtil.formatUnixTimeToLocalDateTime(startTimeOfMethod, timePattern))
-                .endTime(DateUtil.formatUnixTimeToLocalDateTime(endTimeOfMethod, timePattern))
-                .elapsedTimeInMilliseconds(endTimeOfMethod - startTimeOfMethod);
+                .startTimestamp(startTimeOfMethod)
+                .endTimestamp(startTimeOfMethod + TimeUnit.NANOSECONDS.toMillis(elapsedNanos))
+                .elapsedTimeInNanos(elapsedNanos)
+                .timeFormatter(timeFormatter);
         setLogAttributes(joinPoint, builder);
 
         handleLogInfo(builder.build());
@@ -63,7 +72,7 @@ public abstract class LogAspect {
      */
     @AfterThrowing(pointcut = "logPointCut()", throwing = "throwable")
     public void throwExcetion(JoinPoint joinPoint, Throwable throwable) {
-        LogInfo.LogInfoBuilder builder = LogInfo.builder();
+        LogInfo.LogInfoBuilder builder = LogInfo.builder().timeFormatter(timeFormatter);
         setLogAttributes(joinPoint, builder);
         builder.throwable(throwable);
         handleLogInfo(builder.build());
@@ -83,76 +92,22 @@ public abstract class LogAspect {
      * @param builder
      */
     private void setLogAttributes(JoinPoint joinPoint, LogInfo.LogInfoBuilder builder) {
-        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
-        builder.className(getClassName(joinPoint))
-                .methodName(getMethodName(signature))
-                .desc(getMethodDesc(signature))
-                .params(getParams(joinPoint));
+        MethodLogMetadata metadata = getMetadata(joinPoint);
+        builder.className(metadata.getClassName(joinPoint.getTarget().getClass()))
+                .methodName(metadata.getMethodName())
+                .desc(metadata.getDesc())
+                .params(metadata.getParams(joinPoint.getArgs()));
     }
 
     /**
-     * 获取方法参数
+     * 获取缓存的方法日志元数据
      *
      * @param joinPoint
      * @return
      */
-    private Map<String, Object> getParams(JoinPoint joinPoint) {
+    private MethodLogMetadata getMetadata(JoinPoint joinPoint) {
         MethodSignature signature = (MethodSignature) joinPoint.getSignature();
-        Annotation[][] parameterAnnotations = signature.getMethod().getParameterAnnotations();
-
-        // 获取有哪些位置的参数添加了@IgnoreLogParam注解
-        List<Integer> ignoreParamIndex = new ArrayList<>();
-        for (int i = 0; i < parameterAnnotations.length; i++) {
-            if (parameterAnnotations[i] != null && parameterAnnotations[i].length > 0) {
-                for (int j = 0; j < parameterAnnotations[i].length; j++) {
-                    if (parameterAnnotations[i][j].annotationType() == LogIgnore.class) {
-                        ignoreParamIndex.add(i);
-                    }
-                }
-            }
-        }
-
-        Object[] args = joinPoint.getArgs();
-        Map<String, Object> argsMap = new HashMap<>();
-
-        for (int i = 0; i < args.length; i++) {
-            if (!ignoreParamIndex.contains(i) && args[i] != null) {
-                argsMap.put(args[i].getClass().getSimpleName(), args[i]);
-            }
-        }
-
-        return argsMap;
-    }
-
-    /**
-     * 获取方法描述
-     *
-     * @param signature
-     * @return
-     */
-    private String getMethodDesc(MethodSignature signature) {
-        LogKim annotation = signature.getMethod().getAnnotation(LogKim.class);
-        return annotation.desc();
-    }
-
-    /**
-     * 获取方法名
-     *
-     * @param signature
-     * @return
-     */
-    private String getMethodName(MethodSignature signature) {
-        return signature.getName();
-    }
-
-    /**
-     * 获取类名
-     *
-     * @param joinPoint
-     * @return
-     */
-    private String getClassName(JoinPoint joinPoint) {
-        return joinPoint.getTarget().getClass().getSimpleName();
+        return MethodLogMetadata.of(signature.getMethod(), joinPoint.getTarget().getClass());
     }
 
 }
@@ -1,9 +1,14 @@
 package com.kimzing.log;
 
+import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 日志信息载体.
@@ -60,4 +65,61 @@ public class LogInfo {
      */
     private Long elapsedTimeInMilliseconds;
 
+    /**
+     * 方法执行开始的毫秒时间戳，读取startTime时才格式化
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    private Long startTimestamp;
+
+    /**
+     * 方法执行结束的毫秒时间戳，读取endTime时才格式化
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    private Long endTimestamp;
+
+    /**
+     * 方法运行时间，纳秒，读取elapsedTimeInMilliseconds时才换算
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    private Long elapsedTimeInNanos;
+
+    /**
+     * 格式化时间戳使用的格式化器，不作为属性输出
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    private LogTimeFormatter timeFormatter;
+
+    public String getStartTime() {
+        if (startTime == null && startTimestamp != null) {
+            startTime = formatter().format(startTimestamp);
+        }
+        return startTime;
+    }
+
+    public String getEndTime() {
+        if (endTime == null && endTimestamp != null) {
+            endTime = formatter().format(endTimestamp);
+        }
+        return endTime;
+    }
+
+    public Long getElapsedTimeInMilliseconds() {
+        if (elapsedTimeInMilliseconds == null && elapsedTimeInNanos != null) {
+            elapsedTimeInMilliseconds = TimeUnit.NANOSECONDS.toMillis(elapsedTimeInNanos);
+        }
+        return elapsedTimeInMilliseconds;
+    }
+
+    private LogTimeFormatter formatter() {
+        return timeFormatter == null ? LogTimeFormatter.ofPattern(LogTimeFormatter.DEFAULT_PATTERN) : timeFormatter;
+    }
+
 }
@@ -0,0 +1,50 @@
+package com.kimzing.log;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 日志时间戳格式化.
+ * <p>
+ * 每个时间格式只构建一次线程安全的DateTimeFormatter，日志真正输出时才格式化毫秒时间戳
+ * </p>
+ *
+ * @author KimZing - kimzing@163.com
+ * @since 2026/10/18 07:12
+ */
+public final class LogTimeFormatter {
+
+    public static final String DEFAULT_PATTERN = "yyyy-MM-dd HH:mm:ss:SSS";
+
+    private static final Map<String, LogTimeFormatter> CACHE = new ConcurrentHashMap<>();
+
+    private final DateTimeFormatter formatter;
+
+    private LogTimeFormatter(String pattern) {
+        this.formatter = DateTimeFormatter.ofPattern(pattern).withZone(ZoneId.systemDefault());
+    }
+
+    /**
+     * 获取对应格式的格式化器
+     *
+     * @param pattern
+     * @return
+     */
+    public static LogTimeFormatter ofPattern(String pattern) {
+        return CACHE.computeIfAbsent(pattern, LogTimeFormatter::new);
+    }
+
+    /**
+     * 格式化毫秒时间戳
+     *
+     * @param epochMilli 为空时返回null
+     * @return
+     */
+    public String format(Long epochMilli) {
+        return epochMilli == null ? null : formatter.format(Instant.ofEpochMilli(epochMilli));
+    }
+
+}
@@ -0,0 +1,112 @@
+package com.kimzing.log;
+
+import org.springframework.util.ConcurrentReferenceHashMap;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 切面方法的日志元数据.
+ * <p>
+ * 首次调用时解析@LogIgnore参数位置、@LogKim描述与目标类名，并按Method缓存，
+ * 之后切面的每次调用都不再进行反射。缓存使用软引用，不会阻止热部署等场景下旧类加载器的回收
+ * </p>
+ *
+ * @author KimZing - kimzing@163.com
+ * @since 2026/10/18 07:11
+ */
+public final class MethodLogMetadata {
+
+    private static final Map<Method, MethodLogMetadata> CACHE = new ConcurrentReferenceHashMap<>(256);
+
+    private final String methodName;
+
+    private final String desc;
+
+    private final BitSet ignoredParams;
+
+    private final Class<?> targetClass;
+
+    private final String className;
+
+    private MethodLogMetadata(Method method, Class<?> targetClass) {
+        this.methodName = method.getName();
+        LogKim logKim = method.getAnnotation(LogKim.class);
+        this.desc = logKim == null ? null : logKim.desc();
+        this.ignoredParams = resolveIgnoredParams(method);
+        this.targetClass = targetClass;
+        this.className = targetClass.getSimpleName();
+    }
+
+    /**
+     * 获取方法的日志元数据
+     *
+     * @param method
+     * @param targetClass 首次解析时的目标类
+     * @return
+     */
+    public static MethodLogMetadata of(Method method, Class<?> targetClass) {
+        MethodLogMetadata metadata = CACHE.get(method);
+        if (metadata == null) {
+            metadata = CACHE.computeIfAbsent(method, m -> new MethodLogMetadata(m, targetClass));
+        }
+        return metadata;
+    }
+
+    /**
+     * 按参数类型简单名组装未忽略的非空参数
+     *
+     * @param args
+     * @return
+     */
+    public Map<String, Object> getParams(Object[] args) {
+        Map<String, Object> argsMap = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!ignoredParams.get(i) && args[i] != null) {
+                argsMap.put(args[i].getClass().getSimpleName(), args[i]);
+            }
+        }
+        return argsMap;
+    }
+
+    /**
+     * 获取目标类名，同一方法被不同子类继承时按实际类解析
+     *
+     * @param actualClass
+     * @return
+     */
+    public String getClassName(Class<?> actualClass) {
+        return actualClass == targetClass ? className : actualClass.getSimpleName();
+    }
+
+    public String getMethodName() {
+        return methodName;
+    }
+
+    public String getDesc() {
+        return desc;
+    }
+
+    /**
+     * 解析添加了@LogIgnore注解的参数位置
+     *
+     * @param method
+     * @return
+     */
+    private static BitSet resolveIgnoredParams(Method method) {
+        Annotation[][] parameterAnnotations = method.getParameterAnnotations();
+        BitSet ignored = new BitSet(parameterAnnotations.length);
+        for (int i = 0; i < parameterAnnotations.length; i++) {
+            for (Annotation annotation : parameterAnnotations[i]) {
+                if (annotation.annotationType() == LogIgnore.class) {
+                    ignored.set(i);
+                }
+            }
+        }
+        return ignored;
+    }
+
+}
@@ -0,0 +1,190 @@
+package com.kimzing.log.async;
+
+import com.kimzing.utils.log.LogUtil;
+import org.springframework.util.Assert;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * 异步日志分发器.
+ * <p>
+ * 业务线程只将日志事件写入有界无锁环形队列，由后台线程批量取出后格式化并输出，
+ * 参数与返回值的toString均在后台线程执行，提交后不应再修改这些对象。缓冲区满时按OverflowPolicy处理，并记录队列深度与丢弃数量
+ * </p>
+ *
+ * @author KimZing - kimzing@163.com
+ * @since 2026/10/18 07:11
+ */
+public class AsyncLogDispatcher<T> implements Closeable {
+
+    /**
+     * 队列为空时后台线程的最长休眠时间
+     */
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final RingBuffer<T> ringBuffer;
+
+    private final Consumer<List<T>> batchHandler;
+
+    private final int batchSize;
+
+    private final OverflowPolicy overflowPolicy;
+
+    private final int sampleRate;
+
+    private final LongAdder droppedCount = new LongAdder();
+
+    private final LongAdder sampledCount = new LongAdder();
+
+    private final Thread worker;
+
+    private volatile boolean running = true;
+
+    /**
+     * @param bufferSize     缓冲区大小，向上取整为2的幂
+     * @param batchSize      每批最多处理的日志数
+     * @param overflowPolicy 缓冲区满时的处理策略
+     * @param sampleRate     SAMPLE策略下每sampleRate条保留一条
+     * @param batchHandler   批量处理日志，在后台线程执行
+     */
+    public AsyncLogDispatcher(int bufferSize, int batchSize, OverflowPolicy overflowPolicy, int sampleRate,
+                              Consumer<List<T>> batchHandler) {
+        Assert.isTrue(bufferSize > 0 && batchSize > 0, "BufferSize and batchSize must be greater than 0!");
+        Assert.notNull(overflowPolicy, "OverflowPolicy must not be null!");
+        this.ringBuffer = new RingBuffer<>(bufferSize);
+        this.batchSize = batchSize;
+        this.overflowPolicy = overflowPolicy;
+        this.sampleRate = Math.max(1, sampleRate);
+        this.batchHandler = batchHandler;
+        this.worker = new Thread(this::work, "kfc-async-log");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * 提交日志事件
+     *
+     * @param event
+     * @return 是否写入缓冲区
+     */
+    public boolean dispatch(T event) {
+        if (!running) {
+            batchHandler.accept(Collections.singletonList(event));
+            return true;
+        }
+        if (overflowPolicy == OverflowPolicy.SAMPLE && ringBuffer.size() >= ringBuffer.capacity() / 2
+                && ThreadLocalRandom.current().nextInt(sampleRate) != 0) {
+            sampledCount.increment();
+            return false;
+        }
+        if (ringBuffer.offer(event)) {
+            drainIfClosed();
+            return true;
+        }
+        if (overflowPolicy == OverflowPolicy.BLOCK) {
+            while (!ringBuffer.offer(event)) {
+                if (!running) {
+                    batchHandler.accept(Collections.singletonList(event));
+                    return true;
+                }
+                LockSupport.unpark(worker);
+                LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(50));
+            }
+            drainIfClosed();
+            return true;
+        }
+        LockSupport.unpark(worker);
+        droppedCount.increment();
+        return false;
+    }
+
+    /**
+     * 停止后台线程，并处理缓冲区中剩余的日志
+     */
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(worker);
+        try {
+            worker.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        drainBatch();
+    }
+
+    /**
+     * 当前缓冲区中的日志数
+     *
+     * @return
+     */
+    public int getQueueDepth() {
+        return ringBuffer.size();
+    }
+
+    public int getCapacity() {
+        return ringBuffer.capacity();
+    }
+
+    /**
+     * 缓冲区满而丢弃的日志数
+     *
+     * @return
+     */
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+
+    /**
+     * 采样丢弃的日志数
+     *
+     * @return
+     */
+    public long getSampledCount() {
+        return sampledCount.sum();
+    }
+
+    private void work() {
+        while (running) {
+            if (drainBatch() == 0) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+    }
+
+    /**
+     * 写入缓冲区期间close可能已完成最后一次处理，此时由写入线程处理缓冲区中剩余的日志
+     */
+    private void drainIfClosed() {
+        if (!running) {
+            drainBatch();
+        }
+    }
+
+    private synchronized int drainBatch() {
+        int total = 0;
+        List<T> batch = new ArrayList<>(batchSize);
+        while (ringBuffer.drain(batch::add, batchSize) > 0) {
+            total += batch.size();
+            try {
+                batchHandler.accept(batch);
+            } catch (Exception e) {
+                LogUtil.warn("异步日志处理异常: [{}]", e.getMessage());
+            }
+            batch.clear();
+            if (running) {
+                break;
+            }
+        }
+        return total;
+    }
+
+}
@@ -0,0 +1,26 @@
+package com.kimzing.log.async;
+
+/**
+ * 异步日志缓冲区满时的处理策略.
+ *
+ * @author KimZing - kimzing@163.com
+ * @since 2026/10/18 07:11
+ */
+public enum OverflowPolicy {
+
+    /**
+     * 缓冲区满时丢弃新日志，不影响业务线程
+     */
+    DROP,
+
+    /**
+     * 缓冲区使用超过一半后按采样率保留日志，缓冲区满时丢弃
+     */
+    SAMPLE,
+
+    /**
+     * 缓冲区满时阻塞业务线程直到有空位，不丢日志
+     */
+    BLOCK
+
+}
@@ -2,9 +2,12 @@ package com.kimzing.log.impl;
 
 import com.kimzing.log.LogAspect;
 import com.kimzing.log.LogInfo;
+import com.kimzing.log.async.AsyncLogDispatcher;
 import com.kimzing.utils.log.LogUtil;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.List;
+
 /**
  * 默认日志信息处理类.
  *
@@ -13,6 +16,19 @@ import lombok.extern.slf4j.Slf4j;
  */
 public class DefaultLogAspect extends LogAspect {
 
+    /**
+     * 异步日志分发器，为空时在当前线程同步打印
+     */
+    private final AsyncLogDispatcher<LogInfo> asyncLogDispatcher;
+
+    public DefaultLogAspect() {
+        this(null);
+    }
+
+    public DefaultLogAspect(AsyncLogDispatcher<LogInfo> asyncLogDispatcher) {
+        this.asyncLogDispatcher = asyncLogDispatcher;
+    }
+
     /**
      * 对日志信息的处理
      *
@@ -20,6 +36,25 @@ public class DefaultLogAspect extends LogAspect {
      */
     @Override
     public void handleLogInfo(LogInfo logInfo) {
+        if (asyncLogDispatcher != null) {
+            asyncLogDispatcher.dispatch(logInfo);
+            return;
+        }
+        printLogInfo(logInfo);
+    }
+
+    /**
+     * 批量打印日志信息，供异步分发器在后台线程调用
+     *
+     * @param logInfos
+     */
+    public static void printLogInfos(List<LogInfo> logInfos) {
+        for (LogInfo logInfo : logInfos) {
+            printLogInfo(logInfo);
+        }
+    }
+
+    private static void printLogInfo(LogInfo logInfo) {
         // 为了防止日志打印出错，将内部错误捕获，防止影响主业务
         try {
             LogUtil.info("[{}]", logInfo);
@@ -0,0 +1,42 @@
+package com.kimzing.redis;
+
+import com.kimzing.redis.codec.KFCRedisCodec;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.util.Assert;
+
+/**
+ * 基于KFCRedisCodec的值序列化器.
+ *
+ * @author KimZing - kimzing@163.com
+ * @since 2026/10/18 06:44
+ */
+public class KFCCodecRedisSerializer implements RedisSerializer<Object> {
+
+    private final KFCRedisCodec codec;
+
+    public KFCCodecRedisSerializer(KFCRedisCodec codec) {
+        Assert.notNull(codec, "Codec must not be null!");
+        this.codec = codec;
+    }
+
+    @Override
+    public byte[] serialize(Object t) {
+        if (t == null) {
+            return new byte[0];
+        }
+        return codec.serialize(t);
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        return codec.deserialize(bytes);
+    }
+
+    public KFCRedisCodec getCodec() {
+        return codec;
+    }
+
+}
@@ -1,6 +1,6 @@
 package com.kimzing.redis;
 
-import com.kimzing.utils.json.JsonUtil;
+import com.kimzing.redis.codec.JsonRedisCodec;
 import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.util.Assert;
 
@@ -11,7 +11,10 @@ public class KFCJsonRedisSerializer implements RedisSerializer<Object> {
 
     private final Charset charset;
 
-    private final String dateFormate;
+    /**
+     * 按时间格式预先构建的JSON编解码器，避免每次序列化重新创建mapper
+     */
+    private final JsonRedisCodec codec;
 
     public KFCJsonRedisSerializer(String dateFormate) {
         this(dateFormate, StandardCharsets.UTF_8);
@@ -20,7 +23,7 @@ public class KFCJsonRedisSerializer implements RedisSerializer<Object> {
     public KFCJsonRedisSerializer(String dateFormate, Charset charset) {
         Assert.notNull(charset, "Charset must not be null!");
         this.charset = charset;
-        this.dateFormate = dateFormate;
+        this.codec = new JsonRedisCodec(dateFormate, charset);
     }
 
     @Override
@@ -28,7 +31,7 @@ public class KFCJsonRedisSerializer implements RedisSerializer<Object> {
         if (t == null) {
             return new byte[0];
         }
-        return JsonUtil.beanToJson(t, dateFormate).getBytes(charset);
+        return codec.serialize(t);
     }
 
     @Override
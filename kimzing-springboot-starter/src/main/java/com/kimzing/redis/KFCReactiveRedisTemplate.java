@@ -0,0 +1,171 @@
+package com.kimzing.redis;
+
+import com.kimzing.redis.codec.KFCRedisCodec;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * KimZing FanLongfei Custom 响应式Redis操作模板.
+ * <p>
+ * 与KFCRedisTemplate使用相同的key前缀与值编解码器，适用于WebFlux等非阻塞场景
+ * </p>
+ *
+ * @author KimZing - kimzing@163.com
+ * @since 2026/10/18 06:53
+ */
+public class KFCReactiveRedisTemplate extends ReactiveRedisTemplate<Object, Object> {
+
+    private final KFCRedisCodec codec;
+
+    public KFCReactiveRedisTemplate(ReactiveRedisConnectionFactory connectionFactory,
+                                    KFCStringRedisSerializer keySerializer,
+                                    KFCRedisCodec codec) {
+        super(connectionFactory, serializationContext(keySerializer, codec));
+        this.codec = codec;
+    }
+
+    private static RedisSerializationContext<Object, Object> serializationContext(KFCStringRedisSerializer keySerializer,
+                                                                                  KFCRedisCodec codec) {
+        KFCCodecRedisSerializer valueSerializer = new KFCCodecRedisSerializer(codec);
+        return RedisSerializationContext.<Object, Object>newSerializationContext(keySerializer)
+                .key(keySerializer)
+                .hashKey(keySerializer)
+                .value(valueSerializer)
+                .hashValue(valueSerializer)
+                .build();
+    }
+
+    /**
+     * 获取值的编解码器
+     *
+     * @return
+     */
+    public KFCRedisCodec getCodec() {
+        return codec;
+    }
+
+    /**
+     * 获取指定key的数据，并转换为对应的对象
+     *
+     * @param key
+     * @param clazz
+     * @param <V>
+     * @return
+     */
+    public <V> Mono<V> get(Object key, Class<V> clazz) {
+        return opsForValue().get(key).map(object -> codec.toBean(object, clazz));
+    }
+
+    /**
+     * 批量获取多个key的数据，并转换为对应的对象集合，不存在的key对应位置为null
+     *
+     * @param keys
+     * @param clazz
+     * @param <V>
+     * @return
+     */
+    public <V> Mono<List<V>> multiGet(Collection<?> keys, Class<V> clazz) {
+        return opsForValue().multiGet(Collections.unmodifiableCollection(keys)).map(objects -> objects.stream()
+                .map(object -> object == null ? null : codec.toBean(object, clazz))
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * 获取key下的elementKey的数据，并转换为对应的对象
+     *
+     * @param key
+     * @param hashKey
+     * @param clazz
+     * @param <V>
+     * @return
+     */
+    public <V> Mono<V> getHashToBean(Object key, Object hashKey, Class<V> clazz) {
+        return opsForHash().get(key, hashKey).map(object -> codec.toBean(object, clazz));
+    }
+
+    /**
+     * 获取key下的elementKey的数据，并转换为对应的对象集合
+     *
+     * @param key
+     * @param hashKey
+     * @param clazz
+     * @param <V>
+     * @return
+     */
+    public <V> Mono<List<V>> getHashToList(Object key, Object hashKey, Class<V> clazz) {
+        return opsForHash().get(key, hashKey).map(object -> codec.toList(object, clazz));
+    }
+
+    /**
+     * 根据key获取list的第一个元素，并转换为对应的对象，删除对应的值
+     *
+     * @param key
+     * @param clazz
+     * @param <V>
+     * @return
+     */
+    public <V> Mono<V> leftPopList(Object key, Class<V> clazz) {
+        return opsForList().leftPop(key).map(object -> codec.toBean(object, clazz));
+    }
+
+    /**
+     * 根据key获取list的最后一个元素，并转换为对应的对象，删除对应的值
+     *
+     * @param key
+     * @param clazz
+     * @param <V>
+     * @return
+     */
+    public <V> Mono<V> rightPopList(Object key, Class<V> clazz) {
+        return opsForList().rightPop(key).map(object -> codec.toBean(object, clazz));
+    }
+
+    /**
+     * 根据key随机获取set的一个元素，并转换为对应的对象，删除对应的值
+     *
+     * @param key
+     * @param clazz
+     * @param <V>
+     * @return
+     */
+    public <V> Mono<V> popSet(Object key, Class<V> clazz) {
+        return opsForSet().pop(key).map(object -> codec.toBean(object, clazz));
+    }
+
+    /**
+     * 根据key随机获取set的count个元素，并转换为对应的对象，删除对应的值
+     *
+     * @param key
+     * @param count
+     * @param clazz
+     * @param <V>
+     * @return
+     */
+    public <V> Flux<V> popSet(Object key, long count, Class<V> clazz) {
+        return opsForSet().pop(key, count).map(object -> codec.toBean(object, clazz));
+    }
+
+    /**
+     * 根据key获取ZSET中从start到end的元素集合，并转换为对应的对象
+     *
+     * @param key
+     * @param start
+     * @param end
+     * @param clazz
+     * @param <V>
+     * @return
+     */
+    public <V> Flux<V> rangeZSet(Object key, long start, long end, Class<V> clazz) {
+        return opsForZSet().range(key, Range.closed(start, end)).map(object -> codec.toBean(object, clazz));
+    }
+
+}
@@ -1,16 +1,66 @@
 package com.kimzing.redis;
 
+import com.kimzing.redis.bloom.LocalBloomFilter;
+import com.kimzing.redis.codec.JsonRedisCodec;
+import com.kimzing.redis.codec.KFCRedisCodec;
+import com.kimzing.redis.counter.BufferedCounter;
+import com.kimzing.redis.counter.SegmentedCounter;
+import com.kimzing.redis.hash.BeanHashMapper;
+import com.kimzing.redis.hotkey.HotKeyDetector;
+import com.kimzing.redis.limit.LocalTokenBuckets;
+import com.kimzing.redis.limit.RateLimitScripts;
+import com.kimzing.redis.loader.SingleFlight;
+import com.kimzing.redis.lock.LocalPreLock;
+import com.kimzing.redis.lock.LockMetrics;
+import com.kimzing.redis.lock.SegmentedLock;
+import com.kimzing.redis.metrics.CommandMetrics;
+import com.kimzing.redis.nearcache.NearCache;
+import com.kimzing.redis.stream.StreamQueue;
+import com.kimzing.redis.version.VersionScripts;
+import com.kimzing.redis.version.VersionedValue;
 import com.kimzing.utils.exception.ExceptionManager;
-import com.kimzing.utils.json.JsonUtil;
 import com.kimzing.utils.log.LogUtil;
 import org.redisson.api.RBloomFilter;
 import org.redisson.api.RLock;
 import org.redisson.api.RReadWriteLock;
 import org.redisson.api.RedissonClient;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.core.ConvertingCursor;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.DefaultTypedTuple;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.util.Assert;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * KimZing FanLongfei Custom Redis操作模板.
@@ -20,35 +70,369 @@ import java.util.List;
  */
 public class KFCRedisTemplate extends RedisTemplate {
 
-    private String dateFormate;
+    private static final String LOAD_DELTA_SUFFIX = ":load-delta";
+
+    private static final String LOAD_LOCK_SUFFIX = ":load-lock";
+
+    private static final byte[] VERSION_FIELD_BYTES = VersionScripts.VERSION_FIELD.getBytes(StandardCharsets.UTF_8);
+
+    private static final byte[] VALUE_FIELD_BYTES = VersionScripts.VALUE_FIELD.getBytes(StandardCharsets.UTF_8);
+
+    private KFCRedisCodec codec;
 
     private RedissonClient redissonClient;
 
+    /**
+     * 批量反序列化时，元素个数达到该值则并行处理，小于等于0时不开启
+     */
+    private int parallelDecodeThreshold = 0;
+
+    /**
+     * 管道批量操作时，单次管道中包含的命令个数
+     */
+    private int pipelineBatchSize = 500;
+
+    /**
+     * 近端缓存，为null时不开启
+     */
+    private NearCache nearCache;
+
+    private final SingleFlight singleFlight = new SingleFlight();
+
+    /**
+     * 提前刷新的系数，越大越倾向于在过期前刷新，小于等于0时不开启
+     */
+    private double earlyRefreshBeta = 1.0;
+
+    /**
+     * 跨节点加载时获取分布式锁的等待时间
+     */
+    private Duration loadLockWait = Duration.ofSeconds(3);
+
+    /**
+     * 分布式锁指标，为null时不记录
+     */
+    private LockMetrics lockMetrics;
+
+    /**
+     * 分布式锁的本地预加锁
+     */
+    private final LocalPreLock localPreLock = new LocalPreLock();
+
+    /**
+     * 对象与hash之间的映射，缓存每个类的属性访问器
+     */
+    private final BeanHashMapper beanHashMapper;
+
+    /**
+     * 令牌桶限流的本地预检，为null时每次都访问redis
+     */
+    private LocalTokenBuckets localTokenBuckets;
+
+    /**
+     * 热点key探测，为null时不统计
+     */
+    private HotKeyDetector hotKeyDetector;
+
+    /**
+     * 命令执行指标，为null时不记录
+     */
+    private CommandMetrics commandMetrics;
+
+    /**
+     * 热点key的本地缓存，为null时不提升热点key
+     */
+    private NearCache hotKeyCache;
+
     public KFCRedisTemplate(RedissonClient redissonClient, String dateFormate) {
+        this(redissonClient, new JsonRedisCodec(dateFormate));
+    }
+
+    public KFCRedisTemplate(RedissonClient redissonClient, KFCRedisCodec codec) {
         this.redissonClient = redissonClient;
-        this.dateFormate = dateFormate;
+        this.codec = codec;
+        this.beanHashMapper = new BeanHashMapper(codec);
+    }
+
+    /**
+     * 获取值的编解码器
+     *
+     * @return
+     */
+    public KFCRedisCodec getCodec() {
+        return codec;
+    }
+
+    public void setParallelDecodeThreshold(int parallelDecodeThreshold) {
+        this.parallelDecodeThreshold = parallelDecodeThreshold;
+    }
+
+    public NearCache getNearCache() {
+        return nearCache;
+    }
+
+    public void setNearCache(NearCache nearCache) {
+        this.nearCache = nearCache;
+    }
+
+    public void setEarlyRefreshBeta(double earlyRefreshBeta) {
+        this.earlyRefreshBeta = earlyRefreshBeta;
+    }
+
+    public void setLoadLockWait(Duration loadLockWait) {
+        Assert.notNull(loadLockWait, "LoadLockWait must not be null!");
+        this.loadLockWait = loadLockWait;
+    }
+
+    public LockMetrics getLockMetrics() {
+        return lockMetrics;
+    }
+
+    public void setLockMetrics(LockMetrics lockMetrics) {
+        this.lockMetrics = lockMetrics;
+    }
+
+    public LocalTokenBuckets getLocalTokenBuckets() {
+        return localTokenBuckets;
+    }
+
+    public void setLocalTokenBuckets(LocalTokenBuckets localTokenBuckets) {
+        this.localTokenBuckets = localTokenBuckets;
+    }
+
+    public HotKeyDetector getHotKeyDetector() {
+        return hotKeyDetector;
+    }
+
+    public void setHotKeyDetector(HotKeyDetector hotKeyDetector) {
+        this.hotKeyDetector = hotKeyDetector;
+    }
+
+    public void setHotKeyCache(NearCache hotKeyCache) {
+        this.hotKeyCache = hotKeyCache;
+    }
+
+    public void setCommandMetrics(CommandMetrics commandMetrics) {
+        this.commandMetrics = commandMetrics;
+    }
+
+    public void setPipelineBatchSize(int pipelineBatchSize) {
+        Assert.isTrue(pipelineBatchSize > 0, "PipelineBatchSize must be greater than 0!");
+        this.pipelineBatchSize = pipelineBatchSize;
+    }
+
+    /**
+     * 开启命令指标时，对执行命令使用的连接进行包装
+     *
+     * @param connection
+     * @param existingConnection
+     * @return
+     */
+    @Override
+    protected RedisConnection preProcessConnection(RedisConnection connection, boolean existingConnection) {
+        return commandMetrics == null ? connection : commandMetrics.wrap(connection);
+    }
+
+    /**
+     * 批量获取多个key的数据，并转换为对应的对象集合，一次请求完成
+     * <p>
+     * 返回集合与keys顺序一致，不存在的key对应位置为null
+     * </p>
+     *
+     * @param keys
+     * @param clazz
+     * @param <K>
+     * @param <V>
+     * @return
+     */
+    public <K, V> List<V> multiGet(Collection<K> keys, Class<V> clazz) {
+        List<Object> objects = this.opsForValue().multiGet(keys);
+        return toBeanList(objects, clazz);
     }
 
     /**
      * 获取指定key的数据，并转换为对应的对象
+     * <p>
+     * 开启近端缓存时优先从本地缓存读取；开启热点探测时，被识别为热点的key同样先从短时本地缓存读取
+     * </p>
      *
      * @param key
      * @param clazz
      * @return
      */
     public <K, V> V get(K key, Class<V> clazz) {
+        if (nearCache == null && hotKeyDetector == null) {
+            return getFromRedis(key, clazz);
+        }
+        String cacheKey = key.toString();
+        NearCache localCache = nearCache;
+        if (hotKeyDetector != null) {
+            hotKeyDetector.record(cacheKey);
+            if (localCache == null && hotKeyCache != null && hotKeyDetector.isHot(cacheKey)) {
+                localCache = hotKeyCache;
+            }
+        }
+        if (localCache == null) {
+            return getFromRedis(key, clazz);
+        }
+        V cached = localCache.get(cacheKey, clazz);
+        if (cached != null) {
+            return cached;
+        }
+        long stamp = localCache.stamp();
+        V value = getFromRedis(key, clazz);
+        localCache.put(cacheKey, value, stamp);
+        return value;
+    }
+
+    private <K, V> V getFromRedis(K key, Class<V> clazz) {
         Object object = this.opsForValue().get(key);
         if (object == null) {
             return null;
         }
-        if (object instanceof String) {
-            String result = (String) object;
-            return JsonUtil.jsonToBean(result, clazz, dateFormate);
-        } else {
-            throw ExceptionManager.createByCodeAndMessage("REDIS_1001", "deserialization of value is not String Type!");
+        return codec.toBean(object, clazz);
+    }
+
+    /**
+     * 获取指定key的数据，不存在时通过loader加载并写入redis
+     * <p>
+     * 同一节点同一key只会有一个线程执行loader，其余线程等待并共享结果；
+     * 临近过期时按概率提前刷新(XFetch)，避免大量请求在过期瞬间同时回源，提前刷新时loader返回null则仍返回原有值
+     * </p>
+     *
+     * @param key
+     * @param clazz
+     * @param ttl    过期时间
+     * @param loader 数据加载方法，返回null时不写入缓存
+     * @param <K>
+     * @param <V>
+     * @return
+     */
+    public <K, V> V getOrLoad(K key, Class<V> clazz, Duration ttl, Supplier<V> loader) {
+        return getOrLoad(key, clazz, ttl, loader, false);
+    }
+
+    /**
+     * 获取指定key的数据，不存在时通过loader加载并写入redis
+     * <p>
+     * crossNode为true时，加载前需获取该key的分布式锁，保证集群内同一时间只有一个节点回源。
+     * 等待锁超时或被中断时不回源: 已有值则返回该值，否则再次读取redis，仍不存在时抛出REDIS_1007
+     * </p>
+     *
+     * @param key
+     * @param clazz
+     * @param ttl       过期时间
+     * @param loader    数据加载方法，返回null时不写入缓存
+     * @param crossNode 是否跨节点互斥加载
+     * @param <K>
+     * @param <V>
+     * @return
+     */
+    public <K, V> V getOrLoad(K key, Class<V> clazz, Duration ttl, Supplier<V> loader, boolean crossNode) {
+        String cacheKey = key.toString();
+        if (hotKeyDetector != null) {
+            hotKeyDetector.record(cacheKey);
+        }
+        RedisSerializer keySerializer = getKeySerializer();
+        byte[] rawKey = keySerializer.serialize(cacheKey);
+        byte[] rawDeltaKey = keySerializer.serialize(cacheKey + LOAD_DELTA_SUFFIX);
+        // 一次请求获取值、剩余过期时间以及上次加载耗时
+        List<Object> results = this.executePipelined((RedisCallback<Object>) connection -> {
+            connection.stringCommands().get(rawKey);
+            connection.keyCommands().pTtl(rawKey);
+            connection.stringCommands().get(rawDeltaKey);
+            return null;
+        });
+        // 同一key按不同类型读取时分别合并，避免共享结果导致类型转换错误
+        String flightKey = cacheKey + '\u0000' + clazz.getName();
+        Object object = results.get(0);
+        if (object != null) {
+            V value = codec.toBean(object, clazz);
+            Long delta = results.get(2) == null ? null : codec.toBean(results.get(2), Long.class);
+            if (!shouldRefreshEarly((Long) results.get(1), delta) || singleFlight.isLoading(flightKey)) {
+                return value;
+            }
+            return singleFlight.execute(flightKey, () -> load(cacheKey, clazz, ttl, loader, crossNode, value));
+        }
+        return singleFlight.execute(flightKey, () -> load(cacheKey, clazz, ttl, loader, crossNode, null));
+    }
+
+    /**
+     * XFetch: 剩余过期时间越短、加载耗时越长，提前刷新的概率越大
+     *
+     * @param ttlMillis
+     * @param deltaMillis
+     * @return
+     */
+    private boolean shouldRefreshEarly(Long ttlMillis, Long deltaMillis) {
+        if (earlyRefreshBeta <= 0 || ttlMillis == null || ttlMillis <= 0 || deltaMillis == null) {
+            return false;
+        }
+        double random = 1.0 - ThreadLocalRandom.current().nextDouble();
+        return -deltaMillis * earlyRefreshBeta * Math.log(random) >= ttlMillis;
+    }
+
+    private <V> V load(String cacheKey, Class<V> clazz, Duration ttl, Supplier<V> loader, boolean crossNode, V current) {
+        if (!crossNode) {
+            return loadAndSet(cacheKey, ttl, loader, current);
+        }
+        RLock lock = getLock(prefixedName(cacheKey + LOAD_LOCK_SUFFIX));
+        boolean locked;
+        try {
+            locked = lock.tryLock(loadLockWait.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw ExceptionManager.createByCodeAndMessage("REDIS_1007", "等待跨节点加载锁时被中断: " + cacheKey);
+        }
+        if (!locked) {
+            // 其他节点正在加载，未获取到锁时不回源，返回当前值或其他节点已写入的值
+            if (current != null) {
+                return current;
+            }
+            V loaded = getFromRedis(cacheKey, clazz);
+            if (loaded != null) {
+                return loaded;
+            }
+            throw ExceptionManager.createByCodeAndMessage("REDIS_1007", "等待其他节点加载超时: " + cacheKey);
+        }
+        try {
+            // 获取锁期间其他节点可能已完成加载
+            if (current == null) {
+                V loaded = getFromRedis(cacheKey, clazz);
+                if (loaded != null) {
+                    return loaded;
+                }
+            }
+            return loadAndSet(cacheKey, ttl, loader, current);
+        } finally {
+            lock.unlock();
         }
     }
 
+    /**
+     * 执行loader并写入redis，loader返回null时不写入
+     *
+     * @param cacheKey
+     * @param ttl
+     * @param loader
+     * @param current 提前刷新时已读取到的未过期值，loader返回null时仍返回该值
+     * @param <V>
+     * @return
+     */
+    private <V> V loadAndSet(String cacheKey, Duration ttl, Supplier<V> loader, V current) {
+        long start = System.nanoTime();
+        V value = loader.get();
+        long deltaMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        if (value == null) {
+            return current;
+        }
+        Map<String, Object> values = new LinkedHashMap<>(4);
+        values.put(cacheKey, value);
+        values.put(cacheKey + LOAD_DELTA_SUFFIX, deltaMillis);
+        setAll(values, ttl);
+        return value;
+    }
+
     /**
      * 获取key下的elementKey的数据，并转换为对应的对象
      *
@@ -65,12 +449,7 @@ public class KFCRedisTemplate extends RedisTemplate {
         if (object == null) {
             return null;
         }
-        if (object instanceof String) {
-            String result = (String) object;
-            return JsonUtil.jsonToBean(result, clazz, dateFormate);
-        } else {
-            throw ExceptionManager.createByCodeAndMessage("REDIS_1001", "deserialization of value is not String Type!");
-        }
+        return codec.toBean(object, clazz);
     }
 
     /**
@@ -87,16 +466,8 @@ public class KFCRedisTemplate extends RedisTemplate {
      * @return
      */
     public <K, E> List<E> getHashToBean(K key, Collection hashKeys, Class<E> clazz) {
-        Object object = this.opsForHash().multiGet(key, hashKeys);
-        if (object == null) {
-            return null;
-        }
-        if (object instanceof String) {
-            String result = (String) object;
-            return JsonUtil.jsonToList(result, clazz, dateFormate);
-        } else {
-            throw ExceptionManager.createByCodeAndMessage("REDIS_1001", "deserialization of value is not String Type!");
-        }
+        List<Object> objects = this.opsForHash().multiGet(key, hashKeys);
+        return toBeanList(objects, clazz);
     }
 
     /**
@@ -115,12 +486,118 @@ public class KFCRedisTemplate extends RedisTemplate {
         if (object == null) {
             return null;
         }
-        if (object instanceof String) {
-            String result = (String) object;
-            return JsonUtil.jsonToList(result, clazz, dateFormate);
-        } else {
-            throw ExceptionManager.createByCodeAndMessage("REDIS_1001", "deserialization of value is not String Type!");
+        return codec.toList(object, clazz);
+    }
+
+    /**
+     * 将对象以hash结构存储，每个属性对应一个field
+     * <p>
+     * 值为null的属性会删除对应的field，已存在的其他field保持不变
+     * </p>
+     *
+     * @param key
+     * @param bean
+     * @param <K>
+     */
+    public <K> void putObjectAsHash(K key, Object bean) {
+        putObjectAsHash(key, bean, null);
+    }
+
+    /**
+     * 将对象以hash结构存储，每个属性对应一个field，并设置过期时间
+     *
+     * @param key
+     * @param bean
+     * @param ttl  过期时间，为null时不修改
+     * @param <K>
+     */
+    public <K> void putObjectAsHash(K key, Object bean, Duration ttl) {
+        writeHashFields(key, bean, beanHashMapper.getPropertyNames(bean.getClass()), ttl);
+    }
+
+    /**
+     * 仅更新对象的指定属性对应的field，值为null的属性会删除对应的field
+     *
+     * @param key
+     * @param bean
+     * @param fields 属性名
+     * @param <K>
+     */
+    public <K> void updateObjectFields(K key, Object bean, String... fields) {
+        writeHashFields(key, bean, Arrays.asList(fields), null);
+    }
+
+    /**
+     * 读取hash的全部field，并还原为对象
+     *
+     * @param key
+     * @param clazz
+     * @param <K>
+     * @param <V>
+     * @return key不存在时返回null
+     */
+    public <K, V> V getObjectFromHash(K key, Class<V> clazz) {
+        Map<Object, Object> entries = this.opsForHash().entries(key);
+        if (entries == null || entries.isEmpty()) {
+            return null;
+        }
+        Map<String, Object> hash = new LinkedHashMap<>(entries.size() * 2);
+        entries.forEach((field, value) -> hash.put(String.valueOf(field), value));
+        return beanHashMapper.fromHash(hash, clazz);
+    }
+
+    /**
+     * 通过HMGET只读取指定属性对应的field，并还原为对象，未读取的属性保持默认值
+     *
+     * @param key
+     * @param clazz
+     * @param fields 属性名
+     * @param <K>
+     * @param <V>
+     * @return 所有field都不存在时返回null
+     */
+    public <K, V> V getObjectFromHash(K key, Class<V> clazz, String... fields) {
+        List<String> fieldList = Arrays.asList(fields);
+        beanHashMapper.checkFields(clazz, fieldList);
+        List<Object> values = this.opsForHash().multiGet(key, (Collection) fieldList);
+        Map<String, Object> hash = new LinkedHashMap<>(fieldList.size() * 2);
+        for (int i = 0; i < fieldList.size(); i++) {
+            if (values.get(i) != null) {
+                hash.put(fieldList.get(i), values.get(i));
+            }
+        }
+        if (hash.isEmpty()) {
+            return null;
         }
+        return beanHashMapper.fromHash(hash, clazz);
+    }
+
+    private <K> void writeHashFields(K key, Object bean, Collection<String> fields, Duration ttl) {
+        Map<String, Object> values = beanHashMapper.toHash(bean, fields);
+        RedisSerializer hashKeySerializer = getHashKeySerializer();
+        RedisSerializer hashValueSerializer = getHashValueSerializer();
+        Map<byte[], byte[]> puts = new LinkedHashMap<>(values.size() * 2);
+        List<byte[]> deletes = new ArrayList<>();
+        values.forEach((field, value) -> {
+            if (value == null) {
+                deletes.add(hashKeySerializer.serialize(field));
+            } else {
+                puts.put(hashKeySerializer.serialize(field), hashValueSerializer.serialize(value));
+            }
+        });
+        byte[] rawKey = getKeySerializer().serialize(key);
+        this.executePipelined((RedisCallback<Object>) connection -> {
+            if (!puts.isEmpty()) {
+                connection.hashCommands().hMSet(rawKey, puts);
+            }
+            if (!deletes.isEmpty()) {
+                connection.hashCommands().hDel(rawKey, deletes.toArray(new byte[0][]));
+            }
+            if (ttl != null) {
+                connection.keyCommands().pExpire(rawKey, ttl.toMillis());
+            }
+            return null;
+        });
     }
 
     /**
@@ -137,12 +614,7 @@ public class KFCRedisTemplate extends RedisTemplate {
         if (object == null) {
             return null;
         }
-        if (object instanceof String) {
-            String result = (String) object;
-            return JsonUtil.jsonToBean(result, clazz, dateFormate);
-        } else {
-            throw ExceptionManager.createByCodeAndMessage("REDIS_1001", "deserialization of value is not String Type!");
-        }
+        return codec.toBean(object, clazz);
     }
 
     /**
@@ -159,12 +631,7 @@ public class KFCRedisTemplate extends RedisTemplate {
         if (object == null) {
             return null;
         }
-        if (object instanceof String) {
-            String result = (String) object;
-            return JsonUtil.jsonToBean(result, clazz, dateFormate);
-        } else {
-            throw ExceptionManager.createByCodeAndMessage("REDIS_1001", "deserialization of value is not String Type!");
-        }
+        return codec.toBean(object, clazz);
     }
 
     /**
@@ -181,12 +648,7 @@ public class KFCRedisTemplate extends RedisTemplate {
         if (object == null) {
             return null;
         }
-        if (object instanceof String) {
-            String result = (String) object;
-            return JsonUtil.jsonToBean(result, clazz, dateFormate);
-        } else {
-            throw ExceptionManager.createByCodeAndMessage("REDIS_1001", "deserialization of value is not String Type!");
-        }
+        return codec.toBean(object, clazz);
     }
 
     /**
@@ -199,16 +661,8 @@ public class KFCRedisTemplate extends RedisTemplate {
      * @return
      */
     public <K, V> List<V> popSet(K key, long count, Class<V> clazz) {
-        Object object = this.opsForSet().pop(key, count);
-        if (object == null) {
-            return null;
-        }
-        if (object instanceof String) {
-            String result = (String) object;
-            return JsonUtil.jsonToList(result, clazz, dateFormate);
-        } else {
-            throw ExceptionManager.createByCodeAndMessage("REDIS_1001", "deserialization of value is not String Type!");
-        }
+        List<Object> objects = this.opsForSet().pop(key, count);
+        return toBeanList(objects, clazz);
     }
 
     /**
@@ -223,16 +677,478 @@ public class KFCRedisTemplate extends RedisTemplate {
      * @return
      */
     public <K, V> List<V> rangeZSet(K key, long start, long end, Class<V> clazz) {
-        Object object = this.opsForZSet().range(key, start, end);
-        if (object == null) {
+        Set<Object> objects = this.opsForZSet().range(key, start, end);
+        return toBeanList(objects, clazz);
+    }
+
+    /**
+     * 通过管道批量获取多个key的数据，并转换为对应的对象集合
+     * <p>
+     * 按pipelineBatchSize分批发送，请求次数由N次降低为N/pipelineBatchSize次。
+     * 返回集合与keys顺序一致，不存在的key对应位置为null
+     * </p>
+     *
+     * @param keys
+     * @param clazz
+     * @param <K>
+     * @param <V>
+     * @return
+     */
+    public <K, V> List<V> getAll(Collection<K> keys, Class<V> clazz) {
+        if (keys == null) {
             return null;
         }
-        if (object instanceof String) {
-            String result = (String) object;
-            return JsonUtil.jsonToList(result, clazz, dateFormate);
-        } else {
-            throw ExceptionManager.createByCodeAndMessage("REDIS_1001", "deserialization of value is not String Type!");
+        RedisSerializer keySerializer = getKeySerializer();
+        List<Object> objects = new ArrayList<>(keys.size());
+        for (List<K> batch : partition(keys)) {
+            objects.addAll(this.executePipelined((RedisCallback<Object>) connection -> {
+                for (K key : batch) {
+                    connection.stringCommands().get(keySerializer.serialize(key));
+                }
+                return null;
+            }));
         }
+        return toBeanList(objects, clazz);
+    }
+
+    /**
+     * 通过管道批量设置多个key的数据，不设置过期时间
+     *
+     * @param values
+     * @param <K>
+     * @param <V>
+     */
+    public <K, V> void setAll(Map<K, V> values) {
+        setAll(values, (Duration) null);
+    }
+
+    /**
+     * 通过管道批量设置多个key的数据，所有key使用相同的过期时间
+     *
+     * @param values
+     * @param ttl    过期时间，为null时不过期
+     * @param <K>
+     * @param <V>
+     */
+    public <K, V> void setAll(Map<K, V> values, Duration ttl) {
+        setAll(values, key -> ttl);
+    }
+
+    /**
+     * 通过管道批量设置多个key的数据，每个key的过期时间由ttlFunction决定
+     *
+     * @param values
+     * @param ttlFunction 根据key返回过期时间，返回null时不过期
+     * @param <K>
+     * @param <V>
+     */
+    public <K, V> void setAll(Map<K, V> values, Function<? super K, Duration> ttlFunction) {
+        if (values == null || values.isEmpty()) {
+            return;
+        }
+        RedisSerializer keySerializer = getKeySerializer();
+        RedisSerializer valueSerializer = getValueSerializer();
+        for (List<Map.Entry<K, V>> batch : partition(values.entrySet())) {
+            this.executePipelined((RedisCallback<Object>) connection -> {
+                for (Map.Entry<K, V> entry : batch) {
+                    byte[] rawKey = keySerializer.serialize(entry.getKey());
+                    byte[] rawValue = valueSerializer.serialize(entry.getValue());
+                    Duration ttl = ttlFunction.apply(entry.getKey());
+                    if (ttl == null) {
+                        connection.stringCommands().set(rawKey, rawValue);
+                    } else {
+                        connection.stringCommands().set(rawKey, rawValue, Expiration.from(ttl), SetOption.upsert());
+                    }
+                }
+                return null;
+            });
+        }
+    }
+
+    /**
+     * 基于SCAN游标遍历匹配的key，key已去除服务前缀
+     * <p>
+     * 不会像KEYS阻塞服务端，返回的Stream需要关闭(推荐使用try-with-resources)，可提前关闭以中止遍历
+     * </p>
+     *
+     * @param pattern key的匹配表达式，无需包含服务前缀
+     * @param count   每次SCAN的COUNT
+     * @return
+     */
+    public Stream<String> scanKeys(String pattern, int count) {
+        return scanKeyCursor(pattern, count).stream();
+    }
+
+    /**
+     * 基于SCAN游标遍历匹配的key及其值，每页key通过一次MGET批量获取并转换为对应的对象
+     * <p>
+     * 遍历期间被删除的key将被忽略，返回的Stream需要关闭
+     * </p>
+     *
+     * @param pattern key的匹配表达式，无需包含服务前缀
+     * @param count   每次SCAN的COUNT，同时作为MGET的批量大小
+     * @param clazz
+     * @param <V>
+     * @return
+     */
+    public <V> Stream<Map.Entry<String, V>> scanValues(String pattern, int count, Class<V> clazz) {
+        Cursor<String> cursor = scanKeyCursor(pattern, count);
+        Iterator<List<Map.Entry<String, V>>> pages = new Iterator<List<Map.Entry<String, V>>>() {
+            @Override
+            public boolean hasNext() {
+                return cursor.hasNext();
+            }
+
+            @Override
+            public List<Map.Entry<String, V>> next() {
+                List<String> keys = new ArrayList<>(count);
+                while (keys.size() < count && cursor.hasNext()) {
+                    keys.add(cursor.next());
+                }
+                List<V> values = multiGet(keys, clazz);
+                List<Map.Entry<String, V>> entries = new ArrayList<>(keys.size());
+                for (int i = 0; i < keys.size(); i++) {
+                    if (values.get(i) != null) {
+                        entries.add(new AbstractMap.SimpleImmutableEntry<>(keys.get(i), values.get(i)));
+                    }
+                }
+                return entries;
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(pages, Spliterator.ORDERED), false)
+                .flatMap(List::stream)
+                .onClose(cursor::close);
+    }
+
+    /**
+     * 基于HSCAN游标遍历hash中匹配的field及其值，并转换为对应的对象，返回的Stream需要关闭
+     *
+     * @param key
+     * @param pattern field的匹配表达式，为null时匹配全部
+     * @param count   每次HSCAN的COUNT
+     * @param clazz
+     * @param <K>
+     * @param <V>
+     * @return
+     */
+    public <K, V> Stream<Map.Entry<String, V>> scanHash(K key, String pattern, int count, Class<V> clazz) {
+        Cursor<Map.Entry<Object, Object>> cursor = this.opsForHash()
+                .scan(key, scanOptions(getHashKeySerializer(), pattern, count));
+        return cursor.stream()
+                .map(entry -> new AbstractMap.SimpleImmutableEntry<>((String) entry.getKey(),
+                        codec.toBean(entry.getValue(), clazz)));
+    }
+
+    /**
+     * 基于SSCAN游标遍历set中的元素，并转换为对应的对象，返回的Stream需要关闭
+     *
+     * @param key
+     * @param count 每次SSCAN的COUNT
+     * @param clazz
+     * @param <K>
+     * @param <V>
+     * @return
+     */
+    public <K, V> Stream<V> scanSet(K key, int count, Class<V> clazz) {
+        Cursor<Object> cursor = this.opsForSet().scan(key, scanOptions(null, null, count));
+        return cursor.stream().map(object -> codec.toBean(object, clazz));
+    }
+
+    /**
+     * 基于ZSCAN游标遍历zset中的元素及分值，并转换为对应的对象，返回的Stream需要关闭
+     *
+     * @param key
+     * @param count 每次ZSCAN的COUNT
+     * @param clazz
+     * @param <K>
+     * @param <V>
+     * @return
+     */
+    public <K, V> Stream<ZSetOperations.TypedTuple<V>> scanZSet(K key, int count, Class<V> clazz) {
+        Cursor<ZSetOperations.TypedTuple<Object>> cursor = this.opsForZSet().scan(key, scanOptions(null, null, count));
+        return cursor.stream()
+                .map(tuple -> new DefaultTypedTuple<>(codec.toBean(tuple.getValue(), clazz), tuple.getScore()));
+    }
+
+    private Cursor<String> scanKeyCursor(String pattern, int count) {
+        RedisSerializer keySerializer = getKeySerializer();
+        ScanOptions options = scanOptions(keySerializer, pattern == null ? "*" : pattern, count);
+        Cursor<byte[]> cursor = (Cursor<byte[]>) this.executeWithStickyConnection(
+                (RedisCallback<Cursor<byte[]>>) connection -> connection.keyCommands().scan(options));
+        return new ConvertingCursor<>(cursor, bytes -> (String) keySerializer.deserialize(bytes));
+    }
+
+    /**
+     * 获取拼接服务前缀后的名称，用于分布式锁等不经过key序列化器的场景
+     *
+     * @param name
+     * @return
+     */
+    protected String prefixedName(String name) {
+        byte[] bytes = getKeySerializer().serialize(name);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 构建SCAN参数，匹配表达式通过对应的序列化器拼接服务前缀
+     *
+     * @param serializer
+     * @param pattern
+     * @param count
+     * @return
+     */
+    private ScanOptions scanOptions(RedisSerializer serializer, String pattern, int count) {
+        ScanOptions.ScanOptionsBuilder builder = ScanOptions.scanOptions().count(count);
+        if (pattern != null) {
+            builder.match(serializer.serialize(pattern));
+        }
+        return builder.build();
+    }
+
+    /**
+     * 按pipelineBatchSize对集合进行分批
+     *
+     * @param elements
+     * @param <E>
+     * @return
+     */
+    private <E> List<List<E>> partition(Collection<E> elements) {
+        List<List<E>> batches = new ArrayList<>(elements.size() / pipelineBatchSize + 1);
+        List<E> batch = new ArrayList<>(Math.min(elements.size(), pipelineBatchSize));
+        for (E element : elements) {
+            batch.add(element);
+            if (batch.size() == pipelineBatchSize) {
+                batches.add(batch);
+                batch = new ArrayList<>(pipelineBatchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            batches.add(batch);
+        }
+        return batches;
+    }
+
+    /**
+     * 将redis返回的元素集合逐个转换为对应的对象，保持原有顺序
+     *
+     * @param objects
+     * @param clazz
+     * @param <V>
+     * @return
+     */
+    protected <V> List<V> toBeanList(Collection<Object> objects, Class<V> clazz) {
+        if (objects == null) {
+            return null;
+        }
+        boolean parallel = parallelDecodeThreshold > 0 && objects.size() >= parallelDecodeThreshold;
+        Stream<Object> stream = parallel ? objects.parallelStream() : objects.stream();
+        return stream.map(object -> object == null ? null : codec.toBean(object, clazz))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 将元素加入HyperLogLog，用于UV等去重计数，元素通过编解码器序列化
+     *
+     * @param key
+     * @param values
+     * @param <V>
+     * @return HyperLogLog的估算值是否发生变化
+     */
+    public <V> boolean addHyperLogLog(String key, Collection<V> values) {
+        if (values == null || values.isEmpty()) {
+            return false;
+        }
+        Long changed = this.opsForHyperLogLog().add(key, values.toArray());
+        return changed != null && changed > 0;
+    }
+
+    /**
+     * 获取一个或多个HyperLogLog合并后的去重计数估算值，误差约0.81%
+     *
+     * @param keys
+     * @return
+     */
+    public long countHyperLogLog(String... keys) {
+        Long size = this.opsForHyperLogLog().size(keys);
+        return size == null ? 0 : size;
+    }
+
+    /**
+     * 合并多个HyperLogLog到destination，例如将每日UV合并为每周UV
+     *
+     * @param destination
+     * @param sourceKeys
+     * @return 合并后的去重计数估算值
+     */
+    public long mergeHyperLogLog(String destination, String... sourceKeys) {
+        Long size = this.opsForHyperLogLog().union(destination, sourceKeys);
+        return size == null ? 0 : size;
+    }
+
+    /**
+     * 创建写回式缓冲计数器，计数在本地累加后按间隔或key数量批量写入redis
+     * <p>
+     * 需在不再使用时调用close写入剩余增量，推荐直接使用自动配置的缓冲计数器Bean
+     * </p>
+     *
+     * @param interval 写入间隔，至少1毫秒
+     * @param maxKeys  缓冲的key数量达到该值时立即写入
+     * @return
+     */
+    public BufferedCounter createBufferedCounter(Duration interval, int maxKeys) {
+        Assert.notNull(interval, "Interval must not be null!");
+        Assert.isTrue(!interval.isNegative() && interval.toMillis() > 0, "Interval must be at least 1 millisecond!");
+        Assert.isTrue(maxKeys > 0, "MaxKeys must be greater than 0!");
+        return new BufferedCounter(this, interval, maxKeys);
+    }
+
+    /**
+     * 获取基于Redis Stream的工作队列，用于替代循环调用leftPopList/rightPopList的轮询消费
+     * <p>
+     * 配合StreamConsumerContainer使用可获得阻塞读取、批量消费、确认与pending消息认领
+     * </p>
+     *
+     * @param key   stream的key
+     * @param group 消费组
+     * @param clazz 消息类型
+     * @param <V>
+     * @return
+     */
+    public <V> StreamQueue<V> getStreamQueue(String key, String group, Class<V> clazz) {
+        return new StreamQueue<>(this, codec, getKeySerializer().serialize(key), group, clazz);
+    }
+
+    /**
+     * 令牌桶限流，一次Lua脚本调用完成令牌的补充与扣减
+     * <p>
+     * 开启本地预检时，本节点的令牌已不足则直接拒绝，不再访问redis
+     * </p>
+     *
+     * @param key              限流key
+     * @param capacity         桶容量，即允许的最大突发请求数
+     * @param permitsPerSecond 每秒生成的令牌数
+     * @param permits          本次获取的令牌数
+     * @return 是否获取成功
+     */
+    public boolean tryAcquireToken(String key, long capacity, double permitsPerSecond, long permits) {
+        Assert.isTrue(capacity > 0 && permitsPerSecond > 0 && !Double.isInfinite(permitsPerSecond),
+                "Capacity and permitsPerSecond must be greater than 0!");
+        Assert.isTrue(permits > 0, "Permits must be greater than 0!");
+        if (localTokenBuckets != null && !localTokenBuckets.mayAcquire(key, capacity, permitsPerSecond, permits)) {
+            return false;
+        }
+        boolean acquired = executeRateLimitScript(RateLimitScripts.TOKEN_BUCKET, key,
+                String.valueOf(capacity), String.valueOf(permitsPerSecond / 1000), String.valueOf(permits));
+        if (acquired && localTokenBuckets != null) {
+            localTokenBuckets.acquired(key, capacity, permitsPerSecond, permits);
+        }
+        return acquired;
+    }
+
+    /**
+     * 滑动窗口限流，任意window时间内最多允许limit次请求，一次Lua脚本调用完成
+     *
+     * @param key    限流key
+     * @param limit  窗口内允许的请求数
+     * @param window 窗口时间
+     * @return 是否允许
+     */
+    public boolean tryAcquireWindow(String key, long limit, Duration window) {
+        Assert.isTrue(limit > 0, "Limit must be greater than 0!");
+        Assert.isTrue(window != null && window.toMillis() > 0, "Window must be at least 1 millisecond!");
+        String member = System.currentTimeMillis() + ":" + ThreadLocalRandom.current().nextLong();
+        return executeRateLimitScript(RateLimitScripts.SLIDING_WINDOW, key,
+                String.valueOf(limit), String.valueOf(window.toMillis()), member);
+    }
+
+    private boolean executeRateLimitScript(RedisScript<Long> script, String key, Object... args) {
+        Object result = this.execute(script, StringRedisSerializer.UTF_8, StringRedisSerializer.UTF_8,
+                Collections.singletonList(key), args);
+        return Long.valueOf(1).equals(result);
+    }
+
+    /**
+     * 获取带版本号的值，一次HMGET同时读取值与版本号
+     *
+     * @param key
+     * @param clazz
+     * @param <V>
+     * @return key不存在时返回null
+     */
+    public <V> VersionedValue<V> getVersioned(String key, Class<V> clazz) {
+        byte[] rawKey = getKeySerializer().serialize(key);
+        List<byte[]> fields = (List<byte[]>) this.execute((RedisCallback<List<byte[]>>) connection ->
+                connection.hashCommands().hMGet(rawKey, VERSION_FIELD_BYTES, VALUE_FIELD_BYTES));
+        if (fields == null || fields.get(0) == null) {
+            return null;
+        }
+        long version = Long.parseLong(new String(fields.get(0), StandardCharsets.UTF_8));
+        byte[] rawValue = fields.get(1);
+        V value = rawValue == null || rawValue.length == 0 ? null : codec.toBean(codec.deserialize(rawValue), clazz);
+        return new VersionedValue<>(value, version);
+    }
+
+    /**
+     * 无条件写入带版本号的值，版本号递增
+     *
+     * @param key
+     * @param value
+     * @param ttl   过期时间，为null时不过期
+     * @return 新的版本号
+     */
+    public long setVersioned(String key, Object value, Duration ttl) {
+        return executeVersionScript(VersionScripts.SET, key, 0, value, ttl);
+    }
+
+    /**
+     * 版本号与expectedVersion一致时写入，通过Lua脚本原子地完成比较与写入，无需加分布式锁
+     *
+     * @param key
+     * @param expectedVersion 期望的当前版本号，0表示key不存在
+     * @param value
+     * @param ttl             过期时间，为null时不过期
+     * @return 写入成功返回新的版本号，版本号不一致返回-1
+     */
+    public long compareAndSet(String key, long expectedVersion, Object value, Duration ttl) {
+        return executeVersionScript(VersionScripts.COMPARE_AND_SET, key, expectedVersion, value, ttl);
+    }
+
+    /**
+     * 乐观更新: 读取当前值，通过updater计算新值后比较并写入，版本冲突时重新读取并重试
+     * <p>
+     * updater可能被调用多次，不应包含副作用；key不存在时updater的入参为null
+     * </p>
+     *
+     * @param key
+     * @param clazz
+     * @param ttl        过期时间，为null时不过期
+     * @param updater    根据当前值计算新值
+     * @param maxRetries 版本冲突时的最大重试次数
+     * @param <V>
+     * @return 写入后的带版本号的值
+     */
+    public <V> VersionedValue<V> updateVersioned(String key, Class<V> clazz, Duration ttl,
+                                                 UnaryOperator<V> updater, int maxRetries) {
+        for (int attempt = 0; attempt <= maxRetries; attempt++) {
+            VersionedValue<V> current = getVersioned(key, clazz);
+            long expectedVersion = current == null ? 0 : current.getVersion();
+            V value = updater.apply(current == null ? null : current.getValue());
+            long version = compareAndSet(key, expectedVersion, value, ttl);
+            if (version > 0) {
+                return new VersionedValue<>(value, version);
+            }
+        }
+        throw ExceptionManager.createByCodeAndMessage("REDIS_1006", "缓存并发更新冲突，超过最大重试次数: " + key);
+    }
+
+    private long executeVersionScript(RedisScript<Long> script, String key, long expectedVersion,
+                                      Object value, Duration ttl) {
+        byte[] rawValue = getValueSerializer().serialize(value);
+        byte[] rawTtl = String.valueOf(ttl == null ? 0 : ttl.toMillis()).getBytes(StandardCharsets.UTF_8);
+        byte[] rawExpected = String.valueOf(expectedVersion).getBytes(StandardCharsets.UTF_8);
+        Object result = this.execute(script, RedisSerializer.byteArray(), RedisSerializer.byteArray(),
+                Collections.singletonList(key), rawExpected, rawValue, rawTtl);
+        return result == null ? -1 : (Long) result;
     }
 
     /**
@@ -254,7 +1170,53 @@ public class KFCRedisTemplate extends RedisTemplate {
      * @return
      */
     public RLock getLock(String lockKey) {
-        return redissonClient.getLock(lockKey);
+        return getLock(lockKey, false);
+    }
+
+    /**
+     * 分布式锁实现，可选择先获取JVM本地锁
+     * <p>
+     * 开启本地预加锁时，同一节点同一时间只有一个线程竞争分布式锁，其余线程在本地排队，适合单节点内竞争激烈的key
+     * </p>
+     *
+     * @param lockKey
+     * @param localPreLock 是否先获取本地锁
+     * @return
+     */
+    public RLock getLock(String lockKey, boolean localPreLock) {
+        RLock lock = redissonClient.getLock(lockKey);
+        if (localPreLock) {
+            lock = this.localPreLock.wrap(lock, lockKey);
+        }
+        return lockMetrics == null ? lock : lockMetrics.wrap(lock, lockKey, LockMetrics.TYPE_LOCK);
+    }
+
+    /**
+     * 分段锁，将一个资源拆分为segments个子锁(lockKey:0 ~ lockKey:segments-1)，分散竞争
+     *
+     * @param lockKey
+     * @param segments 分段个数
+     * @return
+     */
+    public SegmentedLock getSegmentedLock(String lockKey, int segments) {
+        Assert.isTrue(segments > 0, "Segments must be greater than 0!");
+        List<RLock> locks = new ArrayList<>(segments);
+        for (int i = 0; i < segments; i++) {
+            locks.add(getLock(lockKey + ":" + i));
+        }
+        return new SegmentedLock(redissonClient, locks);
+    }
+
+    /**
+     * 分段计数器，总量拆分到segments个key上，通过Lua脚本无锁扣减，适合库存、配额等热点计数
+     *
+     * @param key
+     * @param segments 分段个数
+     * @return
+     */
+    public SegmentedCounter getSegmentedCounter(String key, int segments) {
+        Assert.isTrue(segments > 0, "Segments must be greater than 0!");
+        return new SegmentedCounter(this, key, segments);
     }
 
     /**
@@ -278,7 +1240,8 @@ public class KFCRedisTemplate extends RedisTemplate {
      * @return
      */
     public RReadWriteLock getReadWriteLock(String lockKey) {
-        return redissonClient.getReadWriteLock(lockKey);
+        RReadWriteLock readWriteLock = redissonClient.getReadWriteLock(lockKey);
+        return lockMetrics == null ? readWriteLock : lockMetrics.wrap(readWriteLock, lockKey);
     }
 
     /**
@@ -314,4 +1277,35 @@ public class KFCRedisTemplate extends RedisTemplate {
         return null;
     }
 
+    /**
+     * 初始化布隆过滤器，并在本地维护其位图副本
+     *
+     * <p>
+     *         // contains在进程内完成，无需访问redis
+     *         localBloomFilter.contains(T object);
+     *         // add写入本地位图后异步写入redis
+     *         localBloomFilter.add(T object);
+     * </p>
+     *
+     * @param bloomKey
+     * @param expectedInsertions 预计统计元素个数
+     * @param falseProbability   期望误差率
+     * @param syncInterval       从redis同步位图的间隔，为null时仅在初始化时加载一次
+     * @param <T>
+     * @return
+     */
+    public <T> LocalBloomFilter<T> initLocalBloomFilter(String bloomKey, long expectedInsertions,
+                                                        double falseProbability, Duration syncInterval) {
+        RBloomFilter<T> bloomFilter = initBloomFilter(bloomKey, expectedInsertions, falseProbability);
+        if (bloomFilter == null) {
+            return null;
+        }
+        LocalBloomFilter<T> localBloomFilter = new LocalBloomFilter<>(redissonClient, bloomFilter);
+        localBloomFilter.sync();
+        if (syncInterval != null) {
+            localBloomFilter.scheduleSync(syncInterval);
+        }
+        return localBloomFilter;
+    }
+
 }
@@ -14,6 +14,16 @@ public class KFCStringRedisSerializer implements RedisSerializer<Object> {
 
     private final String prefix;
 
+    /**
+     * 预先编码的"prefix:"字节，避免每次序列化时拼接字符串
+     */
+    private final byte[] prefixBytes;
+
+    /**
+     * 字符集是否兼容ASCII(ASCII字符均编码为单字节)
+     */
+    private final boolean asciiCompatible;
+
     public KFCStringRedisSerializer(String prefix) {
         this(prefix, StandardCharsets.UTF_8);
     }
@@ -22,6 +32,10 @@ public class KFCStringRedisSerializer implements RedisSerializer<Object> {
         Assert.notNull(charset, "Charset must not be null!");
         this.prefix = prefix;
         this.charset = charset;
+        this.prefixBytes = prefix == null ? null : (prefix + ":").getBytes(charset);
+        this.asciiCompatible = StandardCharsets.UTF_8.equals(charset)
+                || StandardCharsets.US_ASCII.equals(charset)
+                || StandardCharsets.ISO_8859_1.equals(charset);
     }
 
     @Override
@@ -29,13 +43,25 @@ public class KFCStringRedisSerializer implements RedisSerializer<Object> {
         if (s == null) {
             return null;
         }
+        String key = s.toString();
         // 从配置文件读取该服务的redis公共前缀
-        if (prefix == null) {
-            return s.toString().getBytes(charset);
+        if (prefixBytes == null) {
+            return key.getBytes(charset);
+        }
+        // 纯ASCII的key直接写入预分配好长度的数组，遇到非ASCII字符时退回按字符集编码
+        if (asciiCompatible) {
+            byte[] bytes = new byte[prefixBytes.length + key.length()];
+            System.arraycopy(prefixBytes, 0, bytes, 0, prefixBytes.length);
+            if (copyAscii(key, bytes, prefixBytes.length)) {
+                return bytes;
+            }
         }
         // 拼接带前缀的key
-        s = prefix + ":" + s;
-        return s.toString().getBytes(charset);
+        byte[] keyBytes = key.getBytes(charset);
+        byte[] bytes = new byte[prefixBytes.length + keyBytes.length];
+        System.arraycopy(prefixBytes, 0, bytes, 0, prefixBytes.length);
+        System.arraycopy(keyBytes, 0, bytes, prefixBytes.length, keyBytes.length);
+        return bytes;
     }
 
     @Override
@@ -43,18 +69,40 @@ public class KFCStringRedisSerializer implements RedisSerializer<Object> {
         if (bytes == null) {
             return null;
         }
-        String s = new String(bytes, charset);
         // 从配置文件读取该服务的redis公共前缀
-        if (prefix == null) {
-            return s;
+        if (prefixBytes == null) {
+            return new String(bytes, charset);
         }
 
-        // 去除拼接的服务的redis公共前缀
-        if (s.startsWith(prefix)) {
-            return s.substring(prefix.length() + 1);
+        // 按字节偏移去除拼接的服务的redis公共前缀
+        if (startsWithPrefix(bytes)) {
+            return new String(bytes, prefixBytes.length, bytes.length - prefixBytes.length, charset);
         } else {
             throw ExceptionManager.createByCodeAndMessage("REDIS_1001", "REDIS缺少通用前缀");
         }
     }
 
+    private boolean startsWithPrefix(byte[] bytes) {
+        if (bytes.length < prefixBytes.length) {
+            return false;
+        }
+        for (int i = 0; i < prefixBytes.length; i++) {
+            if (bytes[i] != prefixBytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean copyAscii(String key, byte[] bytes, int offset) {
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            if (c >= 0x80) {
+                return false;
+            }
+            bytes[offset + i] = (byte) c;
+        }
+        return true;
+    }
+
 }
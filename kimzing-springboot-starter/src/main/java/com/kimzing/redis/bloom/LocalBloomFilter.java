@@ -0,0 +1,221 @@
+package com.kimzing.redis.bloom;
+
+import com.kimzing.utils.exception.ExceptionManager;
+import com.kimzing.utils.log.LogUtil;
+import io.netty.buffer.ByteBuf;
+import org.redisson.api.RBatch;
+import org.redisson.api.RBitSetAsync;
+import org.redisson.api.RBloomFilter;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.ByteArrayCodec;
+import org.redisson.misc.Hash;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 布隆过滤器的本地副本.
+ * <p>
+ * 在本地维护与Redisson布隆过滤器相同的位图，contains()直接在进程内完成；
+ * add()先写入本地位图，再异步批量写入redis。本地位图定期从redis同步，合并其他节点写入的数据
+ * </p>
+ *
+ * @author KimZing - kimzing@163.com
+ * @since 2026/10/18 06:51
+ */
+public class LocalBloomFilter<T> implements Closeable {
+
+    private final RedissonClient redissonClient;
+
+    private final RBloomFilter<T> bloomFilter;
+
+    private final long size;
+
+    private final int hashIterations;
+
+    private final AtomicLongArray words;
+
+    private ScheduledFuture<?> syncFuture;
+
+    public LocalBloomFilter(RedissonClient redissonClient, RBloomFilter<T> bloomFilter) {
+        this.redissonClient = redissonClient;
+        this.bloomFilter = bloomFilter;
+        this.size = bloomFilter.getSize();
+        this.hashIterations = bloomFilter.getHashIterations();
+        this.words = new AtomicLongArray((int) ((size + 63) >>> 6));
+    }
+
+    /**
+     * 查看布隆过滤器中是否存在该元素，仅访问本地位图
+     *
+     * @param object
+     * @return
+     */
+    public boolean contains(T object) {
+        for (long index : indexes(object)) {
+            if ((words.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 向布隆过滤器中添加一个元素，本地立即生效，redis异步写入
+     *
+     * @param object
+     * @return 元素是否为新增(本地位图发生变化)
+     */
+    public boolean add(T object) {
+        long[] indexes = indexes(object);
+        boolean changed = false;
+        for (long index : indexes) {
+            changed |= setBit(index);
+        }
+        if (changed) {
+            RBatch batch = redissonClient.createBatch();
+            RBitSetAsync bitSet = batch.getBitSet(bloomFilter.getName());
+            for (long index : indexes) {
+                bitSet.setAsync(index);
+            }
+            batch.executeAsync().whenComplete((result, e) -> {
+                if (e != null) {
+                    LogUtil.error("布隆过滤器写入redis失败, bloomKey:[{}], error:[{}]", bloomFilter.getName(), e.getMessage());
+                }
+            });
+        }
+        return changed;
+    }
+
+    /**
+     * 从redis同步位图，与本地位图合并
+     */
+    public void sync() {
+        byte[] bitmap = redissonClient.<byte[]>getBucket(bloomFilter.getName(), ByteArrayCodec.INSTANCE).get();
+        if (bitmap == null) {
+            return;
+        }
+        // redis位图中第i位位于第i/8个字节的高位起第i%8位
+        for (int wordIndex = 0; wordIndex < words.length(); wordIndex++) {
+            long word = 0L;
+            for (int bit = 0; bit < 64; bit++) {
+                long index = ((long) wordIndex << 6) + bit;
+                int byteIndex = (int) (index >>> 3);
+                if (byteIndex >= bitmap.length) {
+                    break;
+                }
+                if ((bitmap[byteIndex] & (0x80 >>> (index & 7))) != 0) {
+                    word |= 1L << bit;
+                }
+            }
+            if (word != 0L) {
+                orWord(wordIndex, word);
+            }
+        }
+    }
+
+    /**
+     * 按固定间隔定时从redis同步
+     *
+     * @param interval
+     */
+    public synchronized void scheduleSync(Duration interval) {
+        if (syncFuture != null) {
+            syncFuture.cancel(false);
+        }
+        syncFuture = SyncExecutorHolder.EXECUTOR.scheduleWithFixedDelay(() -> {
+            try {
+                sync();
+            } catch (Exception e) {
+                LogUtil.warn("布隆过滤器同步失败, bloomKey:[{}], error:[{}]", bloomFilter.getName(), e.getMessage());
+            }
+        }, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 停止定时同步
+     */
+    @Override
+    public synchronized void close() {
+        if (syncFuture != null) {
+            syncFuture.cancel(false);
+            syncFuture = null;
+        }
+    }
+
+    public RBloomFilter<T> getBloomFilter() {
+        return bloomFilter;
+    }
+
+    /**
+     * 与Redisson布隆过滤器保持一致的位置计算方式
+     *
+     * @param object
+     * @return
+     */
+    private long[] indexes(T object) {
+        long[] hashes;
+        ByteBuf state;
+        try {
+            state = bloomFilter.getCodec().getValueEncoder().encode(object);
+        } catch (IOException e) {
+            throw ExceptionManager.createByCodeAndMessage("REDIS_1002", "布隆过滤器元素编码失败: " + e.getMessage());
+        }
+        try {
+            hashes = Hash.hash128(state);
+        } finally {
+            state.release();
+        }
+        long[] indexes = new long[hashIterations];
+        long hash = hashes[0];
+        for (int i = 0; i < hashIterations; i++) {
+            indexes[i] = (hash & Long.MAX_VALUE) % size;
+            if (i % 2 == 0) {
+                hash += hashes[1];
+            } else {
+                hash += hashes[0];
+            }
+        }
+        return indexes;
+    }
+
+    private boolean setBit(long index) {
+        int wordIndex = (int) (index >>> 6);
+        long mask = 1L << index;
+        long word;
+        do {
+            word = words.get(wordIndex);
+            if ((word & mask) != 0) {
+                return false;
+            }
+        } while (!words.compareAndSet(wordIndex, word, word | mask));
+        return true;
+    }
+
+    private void orWord(int wordIndex, long bits) {
+        long word;
+        do {
+            word = words.get(wordIndex);
+            if ((word | bits) == word) {
+                return;
+            }
+        } while (!words.compareAndSet(wordIndex, word, word | bits));
+    }
+
+    private static class SyncExecutorHolder {
+
+        private static final ScheduledExecutorService EXECUTOR = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "kfc-bloom-filter-sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+    }
+
+}
@@ -0,0 +1,56 @@
+package com.kimzing.redis.cache;
+
+import java.lang.annotation.*;
+
+/**
+ * 方法结果缓存.
+ * <p>
+ * 标有该注解的方法，将会通过KFCRedisTemplate读写缓存。
+ * 唯一参数为Collection且返回Map的方法视为批量方法，使用#item引用集合中的单个元素，
+ * 仅对未命中的元素调用原方法
+ * </p>
+ *
+ * @author KimZing - kimzing@163.com
+ * @since 2026/10/18 06:50
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface KimCache {
+
+    /**
+     * 缓存key，支持SpEL，例如: 'user:' + #id
+     *
+     * @return
+     */
+    String key();
+
+    /**
+     * 过期时间，单位秒，小于等于0时不过期
+     *
+     * @return
+     */
+    long ttl() default 300;
+
+    /**
+     * 缓存条件，支持SpEL，为空或结果为true时才使用缓存
+     *
+     * @return
+     */
+    String condition() default "";
+
+    /**
+     * 是否缓存空结果，防止缓存穿透
+     *
+     * @return
+     */
+    boolean cacheNull() default true;
+
+    /**
+     * 空结果的过期时间，单位秒，小于等于0时不过期
+     *
+     * @return
+     */
+    long nullTtl() default 60;
+
+}
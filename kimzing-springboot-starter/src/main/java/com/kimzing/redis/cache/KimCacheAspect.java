@@ -0,0 +1,203 @@
+package com.kimzing.redis.cache;
+
+import com.kimzing.redis.KFCRedisTemplate;
+import com.kimzing.redis.codec.KFCRedisCodec;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.context.expression.MethodBasedEvaluationContext;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.Expression;
+import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 方法结果缓存切面.
+ * <p>
+ * 仅当配置kimzing.redis.cache.enabled=true时生效
+ * </p>
+ *
+ * @author KimZing - kimzing@163.com
+ * @since 2026/10/18 06:50
+ */
+@Aspect
+public class KimCacheAspect {
+
+    /**
+     * 空结果的占位值
+     */
+    private static final String NULL_VALUE = "__KIM_CACHE_NULL__";
+
+    private static final String ITEM_VARIABLE = "item";
+
+    private final KFCRedisTemplate kfcRedisTemplate;
+
+    private final KFCRedisCodec codec;
+
+    /**
+     * 空结果占位值经过编解码后的中间形态
+     */
+    private final Object nullRaw;
+
+    private final ExpressionParser parser = new SpelExpressionParser();
+
+    private final ParameterNameDiscoverer parameterNameDiscoverer = new DefaultParameterNameDiscoverer();
+
+    private final Map<String, Expression> expressionCache = new ConcurrentHashMap<>();
+
+    public KimCacheAspect(KFCRedisTemplate kfcRedisTemplate) {
+        this.kfcRedisTemplate = kfcRedisTemplate;
+        this.codec = kfcRedisTemplate.getCodec();
+        this.nullRaw = codec.deserialize(codec.serialize(NULL_VALUE));
+    }
+
+    @Pointcut("@annotation(com.kimzing.redis.cache.KimCache)")
+    public void cachePointCut() {}
+
+    /**
+     * 对方法进行环绕处理
+     *
+     * @param joinPoint
+     * @return
+     * @throws Throwable
+     */
+    @Around("cachePointCut()")
+    public Object around(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        KimCache kimCache = method.getAnnotation(KimCache.class);
+        Object[] args = joinPoint.getArgs();
+        EvaluationContext context = new MethodBasedEvaluationContext(joinPoint.getTarget(), method, args, parameterNameDiscoverer);
+        if (!kimCache.condition().isEmpty() && !Boolean.TRUE.equals(evaluate(kimCache.condition(), context))) {
+            return joinPoint.proceed();
+        }
+        if (isBatchMethod(method)) {
+            return aroundBatch(joinPoint, method, kimCache, context);
+        }
+        return aroundSingle(joinPoint, method, kimCache, context);
+    }
+
+    /**
+     * 单个结果的缓存处理
+     */
+    private Object aroundSingle(ProceedingJoinPoint joinPoint, Method method, KimCache kimCache,
+                                EvaluationContext context) throws Throwable {
+        String key = String.valueOf(evaluate(kimCache.key(), context));
+        Object raw = kfcRedisTemplate.opsForValue().get(key);
+        if (raw != null) {
+            return isNullRaw(raw) ? null : decode(raw, method.getGenericReturnType());
+        }
+        Object result = joinPoint.proceed();
+        if (result != null) {
+            set(key, result, toTtl(kimCache.ttl()));
+        } else if (kimCache.cacheNull()) {
+            set(key, NULL_VALUE, toTtl(kimCache.nullTtl()));
+        }
+        return result;
+    }
+
+    /**
+     * 批量结果的缓存处理，一次MGET获取全部元素，仅对未命中的元素调用原方法，并通过管道写回
+     */
+    private Object aroundBatch(ProceedingJoinPoint joinPoint, Method method, KimCache kimCache,
+                               EvaluationContext context) throws Throwable {
+        Collection<?> items = (Collection<?>) joinPoint.getArgs()[0];
+        if (items == null || items.isEmpty()) {
+            return joinPoint.proceed();
+        }
+        Map<Object, String> itemKeys = new LinkedHashMap<>(items.size() * 2);
+        for (Object item : items) {
+            context.setVariable(ITEM_VARIABLE, item);
+            itemKeys.put(item, String.valueOf(evaluate(kimCache.key(), context)));
+        }
+        List<Object> raws = kfcRedisTemplate.opsForValue().multiGet(itemKeys.values());
+
+        Type valueType = ((ParameterizedType) method.getGenericReturnType()).getActualTypeArguments()[1];
+        Map<Object, Object> result = new LinkedHashMap<>(items.size() * 2);
+        List<Object> missItems = new ArrayList<>();
+        int index = 0;
+        for (Object item : itemKeys.keySet()) {
+            Object raw = raws.get(index++);
+            if (raw == null) {
+                missItems.add(item);
+            } else if (!isNullRaw(raw)) {
+                result.put(item, decode(raw, valueType));
+            }
+        }
+        if (missItems.isEmpty()) {
+            return result;
+        }
+
+        Collection<Object> missArg = Set.class.isAssignableFrom(method.getParameterTypes()[0])
+                ? new LinkedHashSet<>(missItems) : missItems;
+        Map<?, ?> loaded = (Map<?, ?>) joinPoint.proceed(new Object[]{missArg});
+        Map<String, Object> toCache = new LinkedHashMap<>(missItems.size() * 2);
+        for (Object item : missItems) {
+            Object value = loaded == null ? null : loaded.get(item);
+            if (value != null) {
+                result.put(item, value);
+                toCache.put(itemKeys.get(item), value);
+            } else if (kimCache.cacheNull()) {
+                toCache.put(itemKeys.get(item), NULL_VALUE);
+            }
+        }
+        Duration ttl = toTtl(kimCache.ttl());
+        Duration nullTtl = toTtl(kimCache.nullTtl());
+        kfcRedisTemplate.setAll(toCache, key -> NULL_VALUE.equals(toCache.get(key)) ? nullTtl : ttl);
+        return result;
+    }
+
+    private void set(String key, Object value, Duration ttl) {
+        if (ttl == null) {
+            kfcRedisTemplate.opsForValue().set(key, value);
+        } else {
+            kfcRedisTemplate.opsForValue().set(key, value, ttl);
+        }
+    }
+
+    /**
+     * 过期时间小于等于0时不过期，返回null
+     */
+    private Duration toTtl(long seconds) {
+        return seconds > 0 ? Duration.ofSeconds(seconds) : null;
+    }
+
+    /**
+     * 唯一参数为Collection且返回Map的方法视为批量方法
+     */
+    private boolean isBatchMethod(Method method) {
+        return method.getParameterCount() == 1
+                && Collection.class.isAssignableFrom(method.getParameterTypes()[0])
+                && Map.class.isAssignableFrom(method.getReturnType())
+                && method.getGenericReturnType() instanceof ParameterizedType;
+    }
+
+    /**
+     * 按方法声明的泛型类型解码，Set、Map等集合类型与原方法的返回类型保持一致
+     */
+    private Object decode(Object raw, Type genericType) {
+        return codec.toType(raw, genericType);
+    }
+
+    private boolean isNullRaw(Object raw) {
+        if (raw instanceof byte[] && nullRaw instanceof byte[]) {
+            return Arrays.equals((byte[]) raw, (byte[]) nullRaw);
+        }
+        return nullRaw.equals(raw);
+    }
+
+    private Object evaluate(String expression, EvaluationContext context) {
+        return expressionCache.computeIfAbsent(expression, parser::parseExpression).getValue(context);
+    }
+
+}
@@ -0,0 +1,274 @@
+package com.kimzing.redis.codec;
+
+import com.kimzing.utils.exception.ExceptionManager;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FastDecompressor;
+import org.springframework.util.Assert;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 带压缩的值编解码器.
+ * <p>
+ * 编码结果达到阈值时进行压缩，压缩后的数据格式为: [0x00][算法][4字节原始长度][压缩数据]，
+ * 压缩后不小于原始数据时按原始数据存储。JSON与Smile均不会以0x00开头，因此未压缩的旧数据仍可正常解码，
+ * 算法标识未知的数据会直接报错。压缩耗时记录的是当前线程的CPU时间。lz4需引入lz4-java依赖
+ * </p>
+ *
+ * @author KimZing - kimzing@163.com
+ * @since 2026/10/18 06:54
+ */
+public class CompressingRedisCodec implements KFCRedisCodec {
+
+    public static final String DEFLATE = "deflate";
+
+    public static final String LZ4 = "lz4";
+
+    private static final byte MAGIC = 0x00;
+
+    private static final byte DEFLATE_ID = 1;
+
+    private static final byte LZ4_ID = 2;
+
+    private static final int HEADER_LENGTH = 6;
+
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+
+    private final KFCRedisCodec delegate;
+
+    private final int threshold;
+
+    private final byte algorithm;
+
+    private final LongAdder compressedCount = new LongAdder();
+
+    private final LongAdder originalBytes = new LongAdder();
+
+    private final LongAdder compressedBytes = new LongAdder();
+
+    private final LongAdder compressCpuNanos = new LongAdder();
+
+    private final LongAdder decompressCpuNanos = new LongAdder();
+
+    private final LongAdder skippedCount = new LongAdder();
+
+    /**
+     * 是否可以获取当前线程的CPU时间，不支持时不记录压缩耗时
+     */
+    private final boolean cpuTimeSupported;
+
+    public CompressingRedisCodec(KFCRedisCodec delegate, int threshold, String algorithm) {
+        Assert.notNull(delegate, "Delegate must not be null!");
+        this.delegate = delegate;
+        this.threshold = threshold;
+        if (LZ4.equalsIgnoreCase(algorithm)) {
+            this.algorithm = LZ4_ID;
+        } else if (algorithm == null || DEFLATE.equalsIgnoreCase(algorithm)) {
+            this.algorithm = DEFLATE_ID;
+        } else {
+            throw ExceptionManager.createByCodeAndMessage("REDIS_1003", "不支持的redis压缩算法: " + algorithm);
+        }
+        this.cpuTimeSupported = THREAD_MX_BEAN.isCurrentThreadCpuTimeSupported() && THREAD_MX_BEAN.isThreadCpuTimeEnabled();
+    }
+
+    @Override
+    public byte[] serialize(Object value) {
+        byte[] bytes = delegate.serialize(value);
+        if (bytes.length < threshold) {
+            return bytes;
+        }
+        long start = cpuTime();
+        byte[] compressed = algorithm == LZ4_ID ? Lz4.compress(bytes) : deflate(bytes);
+        compressCpuNanos.add(cpuTime() - start);
+        // 压缩无收益时按原始数据存储
+        if (compressed.length >= bytes.length) {
+            skippedCount.increment();
+            return bytes;
+        }
+        compressedCount.increment();
+        originalBytes.add(bytes.length);
+        compressedBytes.add(compressed.length);
+        return compressed;
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) {
+        if (bytes.length < HEADER_LENGTH || bytes[0] != MAGIC) {
+            return delegate.deserialize(bytes);
+        }
+        long start = cpuTime();
+        byte[] decompressed;
+        if (bytes[1] == LZ4_ID) {
+            decompressed = Lz4.decompress(bytes);
+        } else if (bytes[1] == DEFLATE_ID) {
+            decompressed = inflate(bytes);
+        } else {
+            throw ExceptionManager.createByCodeAndMessage("REDIS_1002", "未知的压缩算法标识: " + bytes[1]);
+        }
+        decompressCpuNanos.add(cpuTime() - start);
+        return delegate.deserialize(decompressed);
+    }
+
+    @Override
+    public <T> T toBean(Object raw, Class<T> clazz) {
+        return delegate.toBean(raw, clazz);
+    }
+
+    @Override
+    public <T> List<T> toList(Object raw, Class<T> clazz) {
+        return delegate.toList(raw, clazz);
+    }
+
+    @Override
+    public Object toType(Object raw, Type type) {
+        return delegate.toType(raw, type);
+    }
+
+    public KFCRedisCodec getDelegate() {
+        return delegate;
+    }
+
+    public long getCompressedCount() {
+        return compressedCount.sum();
+    }
+
+    public long getOriginalBytes() {
+        return originalBytes.sum();
+    }
+
+    public long getCompressedBytes() {
+        return compressedBytes.sum();
+    }
+
+    /**
+     * 压缩无收益而按原始数据存储的次数
+     *
+     * @return
+     */
+    public long getSkippedCount() {
+        return skippedCount.sum();
+    }
+
+    /**
+     * 压缩消耗的CPU时间，纳秒
+     *
+     * @return
+     */
+    public long getCompressCpuNanos() {
+        return compressCpuNanos.sum();
+    }
+
+    /**
+     * 解压消耗的CPU时间，纳秒
+     *
+     * @return
+     */
+    public long getDecompressCpuNanos() {
+        return decompressCpuNanos.sum();
+    }
+
+    /**
+     * 压缩率，压缩后大小/原始大小
+     *
+     * @return
+     */
+    public double getCompressionRatio() {
+        long original = originalBytes.sum();
+        return original == 0 ? 1.0 : (double) compressedBytes.sum() / original;
+    }
+
+    private long cpuTime() {
+        return cpuTimeSupported ? THREAD_MX_BEAN.getCurrentThreadCpuTime() : 0;
+    }
+
+    private static byte[] header(byte algorithm, int originalLength, int capacity) {
+        byte[] result = new byte[HEADER_LENGTH + capacity];
+        result[0] = MAGIC;
+        result[1] = algorithm;
+        result[2] = (byte) (originalLength >>> 24);
+        result[3] = (byte) (originalLength >>> 16);
+        result[4] = (byte) (originalLength >>> 8);
+        result[5] = (byte) originalLength;
+        return result;
+    }
+
+    private static int originalLength(byte[] bytes) {
+        return ((bytes[2] & 0xFF) << 24) | ((bytes[3] & 0xFF) << 16) | ((bytes[4] & 0xFF) << 8) | (bytes[5] & 0xFF);
+    }
+
+    private static byte[] deflate(byte[] bytes) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(bytes);
+            deflater.finish();
+            byte[] result = header(DEFLATE_ID, bytes.length, bytes.length + 64);
+            int length = HEADER_LENGTH;
+            while (!deflater.finished()) {
+                if (length == result.length) {
+                    result = Arrays.copyOf(result, result.length * 2);
+                }
+                length += deflater.deflate(result, length, result.length - length);
+            }
+            return Arrays.copyOf(result, length);
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] bytes) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(bytes, HEADER_LENGTH, bytes.length - HEADER_LENGTH);
+            byte[] result = new byte[originalLength(bytes)];
+            int length = 0;
+            while (length < result.length && !inflater.finished()) {
+                int inflated = inflater.inflate(result, length, result.length - length);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                length += inflated;
+            }
+            if (length != result.length) {
+                throw ExceptionManager.createByCodeAndMessage("REDIS_1002", "压缩数据已损坏");
+            }
+            return result;
+        } catch (DataFormatException e) {
+            throw ExceptionManager.createByCodeAndMessage("REDIS_1002", "解压失败: " + e.getMessage());
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * lz4实现，单独成类以便未引入lz4-java时不加载相关类
+     */
+    private static class Lz4 {
+
+        private static final LZ4Compressor COMPRESSOR = LZ4Factory.fastestInstance().fastCompressor();
+
+        private static final LZ4FastDecompressor DECOMPRESSOR = LZ4Factory.fastestInstance().fastDecompressor();
+
+        private static byte[] compress(byte[] bytes) {
+            byte[] result = header(LZ4_ID, bytes.length, COMPRESSOR.maxCompressedLength(bytes.length));
+            int length = COMPRESSOR.compress(bytes, 0, bytes.length, result, HEADER_LENGTH);
+            return Arrays.copyOf(result, HEADER_LENGTH + length);
+        }
+
+        private static byte[] decompress(byte[] bytes) {
+            byte[] result = new byte[originalLength(bytes)];
+            DECOMPRESSOR.decompress(bytes, HEADER_LENGTH, result, 0, result.length);
+            return result;
+        }
+
+    }
+
+}
@@ -0,0 +1,294 @@
+package com.kimzing.redis.codec;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.datatype.jsr310.deser.LocalDateTimeDeserializer;
+import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateTimeSerializer;
+import com.kimzing.utils.exception.ExceptionManager;
+import com.kimzing.utils.json.JsonUtil;
+import com.kimzing.utils.log.LogUtil;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.MonthDay;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.Period;
+import java.time.Year;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * JSON格式的值编解码器，默认实现.
+ * <p>
+ * 每种时间格式只构建一次ObjectMapper，并缓存每个目标类型的ObjectReader，
+ * Date与LocalDateTime按dateFormate格式化，编解码过程中不再重复创建mapper与formatter。
+ * 构建时以各类时间、数值类型的样例与JsonUtil的输出逐一比对，任一结果不一致时该格式回退为直接调用JsonUtil，
+ * 保证与JsonUtil写入的数据互相兼容
+ * </p>
+ *
+ * @author KimZing - kimzing@163.com
+ * @since 2026/10/18 06:44
+ */
+public class JsonRedisCodec implements KFCRedisCodec {
+
+    public static final String NAME = "json";
+
+    /**
+     * 时间格式 -> 对应的mapper，同一格式的编解码器共享
+     */
+    private static final Map<String, JsonMapping> MAPPINGS = new ConcurrentHashMap<>();
+
+    private final Charset charset;
+
+    private final boolean utf8;
+
+    private final JsonMapping mapping;
+
+    public JsonRedisCodec(String dateFormate) {
+        this(dateFormate, StandardCharsets.UTF_8);
+    }
+
+    public JsonRedisCodec(String dateFormate, Charset charset) {
+        Assert.notNull(charset, "Charset must not be null!");
+        this.charset = charset;
+        this.utf8 = StandardCharsets.UTF_8.equals(charset);
+        this.mapping = MAPPINGS.computeIfAbsent(dateFormate == null ? "" : dateFormate, JsonMapping::new);
+    }
+
+    @Override
+    public byte[] serialize(Object value) {
+        if (mapping.delegating) {
+            return JsonUtil.beanToJson(value, mapping.dateFormate).getBytes(charset);
+        }
+        try {
+            if (utf8) {
+                return mapping.writer.writeValueAsBytes(value);
+            }
+            return mapping.writer.writeValueAsString(value).getBytes(charset);
+        } catch (IOException e) {
+            throw ExceptionManager.createByCodeAndMessage("REDIS_1002", "serialization of value failed: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) {
+        return new String(bytes, charset);
+    }
+
+    @Override
+    public <T> T toBean(Object raw, Class<T> clazz) {
+        if (mapping.delegating) {
+            return JsonUtil.jsonToBean(toJson(raw), clazz, mapping.dateFormate);
+        }
+        return read(raw, mapping.reader(clazz));
+    }
+
+    @Override
+    public <T> List<T> toList(Object raw, Class<T> clazz) {
+        if (mapping.delegating) {
+            return JsonUtil.jsonToList(toJson(raw), clazz, mapping.dateFormate);
+        }
+        return read(raw, mapping.listReader(clazz));
+    }
+
+    @Override
+    public Object toType(Object raw, Type type) {
+        if (mapping.delegating) {
+            return KFCRedisCodec.super.toType(raw, type);
+        }
+        return read(raw, mapping.typeReader(type));
+    }
+
+    private <T> T read(Object raw, ObjectReader reader) {
+        try {
+            if (raw instanceof String) {
+                return reader.readValue((String) raw);
+            }
+            if (raw instanceof byte[]) {
+                return utf8 ? reader.readValue((byte[]) raw) : reader.readValue(new String((byte[]) raw, charset));
+            }
+        } catch (IOException e) {
+            throw ExceptionManager.createByCodeAndMessage("REDIS_1002", "deserialization of value failed: " + e.getMessage());
+        }
+        throw ExceptionManager.createByCodeAndMessage("REDIS_1001", "deserialization of value is not String Type!");
+    }
+
+    private String toJson(Object raw) {
+        if (raw instanceof String) {
+            return (String) raw;
+        }
+        if (raw instanceof byte[]) {
+            return new String((byte[]) raw, charset);
+        }
+        throw ExceptionManager.createByCodeAndMessage("REDIS_1001", "deserialization of value is not String Type!");
+    }
+
+    /**
+     * 当前时间格式是否回退为直接调用JsonUtil
+     *
+     * @return
+     */
+    public boolean isDelegating() {
+        return mapping.delegating;
+    }
+
+    /**
+     * 同一时间格式下不可变的writer以及按类型缓存的reader
+     */
+    private static final class JsonMapping {
+
+        /**
+         * 与JsonUtil比对输出的样例，覆盖所有java.time类型以及Date、大数
+         */
+        private static final Object[] PROBES = {
+                LocalDateTime.of(2020, 7, 19, 0, 2, 1, 123000000),
+                LocalDate.of(2020, 7, 19),
+                LocalTime.of(0, 2, 1),
+                Instant.ofEpochSecond(1595088121L),
+                OffsetDateTime.of(2020, 7, 19, 0, 2, 1, 0, ZoneOffset.UTC),
+                ZonedDateTime.of(2020, 7, 19, 0, 2, 1, 0, ZoneOffset.UTC),
+                OffsetTime.of(0, 2, 1, 0, ZoneOffset.UTC),
+                Year.of(2020),
+                YearMonth.of(2020, 7),
+                MonthDay.of(7, 19),
+                Duration.ofSeconds(90),
+                Period.ofDays(3),
+                new Date(1595088121000L),
+                new BigDecimal("1.10"),
+                Long.MAX_VALUE
+        };
+
+        /**
+         * 传给JsonUtil的时间格式，未配置时为null
+         */
+        private final String dateFormate;
+
+        /**
+         * 与JsonUtil的结果不一致时为true，编解码直接调用JsonUtil
+         */
+        private final boolean delegating;
+
+        private final ObjectMapper objectMapper;
+
+        private final ObjectWriter writer;
+
+        private final Map<Class<?>, ObjectReader> readers = new ConcurrentHashMap<>();
+
+        private final Map<Class<?>, ObjectReader> listReaders = new ConcurrentHashMap<>();
+
+        private final Map<Type, ObjectReader> typeReaders = new ConcurrentHashMap<>();
+
+        private JsonMapping(String dateFormate) {
+            JavaTimeModule javaTimeModule = new JavaTimeModule();
+            ObjectMapper mapper = new ObjectMapper()
+                    .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+                    .configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
+            if (StringUtils.hasText(dateFormate)) {
+                DateTimeFormatter formatter = DateTimeFormatter.ofPattern(dateFormate);
+                javaTimeModule.addSerializer(LocalDateTime.class, new LocalDateTimeSerializer(formatter));
+                javaTimeModule.addDeserializer(LocalDateTime.class, new LocalDateTimeDeserializer(formatter));
+                // Jackson使用时会克隆该DateFormat，可安全共享
+                mapper.setDateFormat(new SimpleDateFormat(dateFormate));
+                mapper.setTimeZone(TimeZone.getDefault());
+            }
+            this.objectMapper = mapper.registerModule(javaTimeModule);
+            this.writer = objectMapper.writer();
+            this.dateFormate = StringUtils.hasText(dateFormate) ? dateFormate : null;
+            String mismatch = findMismatch();
+            this.delegating = mismatch != null;
+            if (delegating) {
+                LogUtil.warn("redis值编解码与JsonUtil结果不一致，时间格式[{}]回退为JsonUtil, 样例: [{}]", dateFormate, mismatch);
+            }
+        }
+
+        /**
+         * 逐一比对样例的写出与读取结果，JsonUtil不支持的样例跳过
+         *
+         * @return 第一个不一致的样例，全部一致时返回null
+         */
+        private String findMismatch() {
+            for (Object probe : PROBES) {
+                Map<String, Object> value = Collections.singletonMap("value", probe);
+                String expected;
+                try {
+                    expected = JsonUtil.beanToJson(value, dateFormate);
+                } catch (RuntimeException e) {
+                    continue;
+                }
+                if (expected == null) {
+                    continue;
+                }
+                try {
+                    JavaType type = objectMapper.getTypeFactory().constructMapType(Map.class, String.class, probe.getClass());
+                    Object read = objectMapper.readerFor(type).readValue(expected);
+                    if (!expected.equals(writer.writeValueAsString(value)) || !expected.equals(writer.writeValueAsString(read))) {
+                        return probe.getClass().getSimpleName() + " " + expected;
+                    }
+                } catch (IOException e) {
+                    return probe.getClass().getSimpleName() + " " + expected;
+                }
+            }
+            return unknownPropertiesMismatch();
+        }
+
+        /**
+         * mapper忽略未知字段，JsonUtil遇到未知字段报错时视为不一致
+         */
+        private String unknownPropertiesMismatch() {
+            try {
+                JsonUtil.jsonToBean("{\"value\":1,\"unknown\":1}", UnknownPropertiesProbe.class, dateFormate);
+                return null;
+            } catch (RuntimeException e) {
+                return "FAIL_ON_UNKNOWN_PROPERTIES";
+            }
+        }
+
+        private ObjectReader reader(Class<?> clazz) {
+            return readers.computeIfAbsent(clazz, objectMapper::readerFor);
+        }
+
+        private ObjectReader typeReader(Type type) {
+            return typeReaders.computeIfAbsent(type, t -> objectMapper.readerFor(objectMapper.getTypeFactory().constructType(t)));
+        }
+
+        private ObjectReader listReader(Class<?> clazz) {
+            return listReaders.computeIfAbsent(clazz, c -> {
+                JavaType listType = objectMapper.getTypeFactory().constructCollectionType(List.class, c);
+                return objectMapper.readerFor(listType);
+            });
+        }
+
+    }
+
+    private static final class UnknownPropertiesProbe {
+
+        public Integer value;
+
+    }
+
+}
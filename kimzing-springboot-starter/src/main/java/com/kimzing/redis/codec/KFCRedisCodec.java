@@ -0,0 +1,82 @@
+package com.kimzing.redis.codec;
+
+import com.kimzing.utils.exception.ExceptionManager;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Redis值编解码器.
+ * <p>
+ * 负责对象与byte[]之间的转换，通过kimzing.redis.codec选择具体实现，也可自行注入该类型的Bean进行替换
+ * </p>
+ *
+ * @author KimZing - kimzing@163.com
+ * @since 2026/10/18 06:44
+ */
+public interface KFCRedisCodec {
+
+    /**
+     * 将对象编码为字节数组
+     *
+     * @param value
+     * @return
+     */
+    byte[] serialize(Object value);
+
+    /**
+     * 值序列化器反序列化时返回的中间形态，具体的类型转换由toBean/toList在已知目标类型时完成
+     *
+     * @param bytes
+     * @return
+     */
+    Object deserialize(byte[] bytes);
+
+    /**
+     * 将中间形态转换为对应的对象
+     *
+     * @param raw
+     * @param clazz
+     * @param <T>
+     * @return
+     */
+    <T> T toBean(Object raw, Class<T> clazz);
+
+    /**
+     * 将中间形态转换为对应的对象集合
+     *
+     * @param raw
+     * @param clazz
+     * @param <T>
+     * @return
+     */
+    <T> List<T> toList(Object raw, Class<T> clazz);
+
+    /**
+     * 按泛型类型将中间形态转换为对应的对象，如Set&lt;User&gt;、Map&lt;String, User&gt;.
+     * <p>
+     * 默认仅支持Class以及List/Collection的元素类型，其他泛型类型需由实现类覆盖
+     * </p>
+     *
+     * @param raw
+     * @param type
+     * @return
+     */
+    default Object toType(Object raw, Type type) {
+        if (type instanceof Class) {
+            return toBean(raw, (Class<?>) type);
+        }
+        if (type instanceof ParameterizedType) {
+            ParameterizedType parameterizedType = (ParameterizedType) type;
+            Type rawType = parameterizedType.getRawType();
+            Type elementType = parameterizedType.getActualTypeArguments()[0];
+            if ((rawType == List.class || rawType == Collection.class) && elementType instanceof Class) {
+                return toList(raw, (Class<?>) elementType);
+            }
+        }
+        throw ExceptionManager.createByCodeAndMessage("REDIS_1001", "unsupported deserialization type: " + type.getTypeName());
+    }
+
+}
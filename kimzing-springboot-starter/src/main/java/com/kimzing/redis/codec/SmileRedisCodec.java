@@ -0,0 +1,86 @@
+package com.kimzing.redis.codec;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.type.CollectionType;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.kimzing.utils.exception.ExceptionManager;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * Smile二进制格式的值编解码器.
+ * <p>
+ * Smile为无需schema的二进制JSON，自带格式头，直接由byte[]解析为目标类型，不经过String中转。
+ * 时间类型以时间戳形式存储，不受timePattern影响。需引入jackson-dataformat-smile依赖
+ * </p>
+ *
+ * @author KimZing - kimzing@163.com
+ * @since 2026/10/18 06:44
+ */
+public class SmileRedisCodec implements KFCRedisCodec {
+
+    public static final String NAME = "smile";
+
+    private final ObjectMapper objectMapper;
+
+    public SmileRedisCodec() {
+        this.objectMapper = new ObjectMapper(new SmileFactory())
+                .registerModule(new JavaTimeModule())
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    }
+
+    @Override
+    public byte[] serialize(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw ExceptionManager.createByCodeAndMessage("REDIS_1002", "serialization of value failed: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) {
+        // 保留原始字节，待获取到目标类型后再解析
+        return bytes;
+    }
+
+    @Override
+    public <T> T toBean(Object raw, Class<T> clazz) {
+        try {
+            return objectMapper.readValue(toBytes(raw), clazz);
+        } catch (IOException e) {
+            throw ExceptionManager.createByCodeAndMessage("REDIS_1002", "deserialization of value failed: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public <T> List<T> toList(Object raw, Class<T> clazz) {
+        CollectionType listType = objectMapper.getTypeFactory().constructCollectionType(List.class, clazz);
+        try {
+            return objectMapper.readValue(toBytes(raw), listType);
+        } catch (IOException e) {
+            throw ExceptionManager.createByCodeAndMessage("REDIS_1002", "deserialization of value failed: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public Object toType(Object raw, Type type) {
+        try {
+            return objectMapper.readValue(toBytes(raw), objectMapper.getTypeFactory().constructType(type));
+        } catch (IOException e) {
+            throw ExceptionManager.createByCodeAndMessage("REDIS_1002", "deserialization of value failed: " + e.getMessage());
+        }
+    }
+
+    private byte[] toBytes(Object raw) {
+        if (raw instanceof byte[]) {
+            return (byte[]) raw;
+        }
+        throw ExceptionManager.createByCodeAndMessage("REDIS_1001", "deserialization of value is not byte[] Type!");
+    }
+
+}
@@ -0,0 +1,229 @@
+package com.kimzing.redis.counter;
+
+import com.kimzing.utils.log.LogUtil;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.io.Closeable;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 写回式缓冲计数器.
+ * <p>
+ * 计数先累加到本地按key划分的LongAdder中，按固定间隔或缓冲key数量达到上限时，通过管道批量INCRBY写入redis，
+ * 将每次请求一条INCR合并为每个周期每个key一条。关闭时会执行最后一次写入，需确保close被调用(注册为Bean时由容器关闭)。
+ * 写入失败的增量保留在本地，下次继续写入；进程异常退出时未写入的增量会丢失
+ * </p>
+ *
+ * @author KimZing - kimzing@163.com
+ * @since 2026/10/18 07:08
+ */
+public class BufferedCounter implements Closeable {
+
+    /**
+     * 连续多少个周期没有增量时移除本地计数
+     */
+    private static final int IDLE_FLUSHES_BEFORE_REMOVE = 2;
+
+    private final RedisTemplate<String, ?> redisTemplate;
+
+    private final int maxKeys;
+
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    /**
+     * 已从counters移除的计数，再保留一个周期写入移除瞬间的残余增量，仅在flush中访问
+     */
+    private List<Counter> retired = new ArrayList<>();
+
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+
+    private final ScheduledExecutorService scheduler;
+
+    private volatile boolean closed;
+
+    /**
+     * @param redisTemplate
+     * @param interval      写入间隔
+     * @param maxKeys       缓冲的key数量达到该值时立即写入
+     */
+    public BufferedCounter(RedisTemplate<String, ?> redisTemplate, Duration interval, int maxKeys) {
+        this.redisTemplate = redisTemplate;
+        this.maxKeys = maxKeys;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "kfc-buffered-counter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long millis = interval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::flushQuietly, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 计数加一
+     *
+     * @param key
+     */
+    public void increment(String key) {
+        increment(key, 1);
+    }
+
+    /**
+     * 计数增加delta
+     *
+     * @param key
+     * @param delta
+     */
+    public void increment(String key, long delta) {
+        Counter counter = counters.get(key);
+        if (counter == null) {
+            counter = counters.computeIfAbsent(key, Counter::new);
+            if (counters.size() >= maxKeys && flushRequested.compareAndSet(false, true) && !closed) {
+                requestFlush();
+            }
+        }
+        counter.adder.add(delta);
+    }
+
+    /**
+     * 获取计数值，包含本地尚未写入redis的增量
+     *
+     * @param key
+     * @return
+     */
+    public long get(String key) {
+        byte[] rawKey = keySerializer().serialize(key);
+        byte[] value = redisTemplate.execute((RedisCallback<byte[]>) connection -> connection.stringCommands().get(rawKey));
+        long count = value == null ? 0 : Long.parseLong(new String(value, StandardCharsets.UTF_8));
+        return count + getPending(key);
+    }
+
+    /**
+     * 本地尚未写入redis的增量
+     *
+     * @param key
+     * @return
+     */
+    public long getPending(String key) {
+        Counter counter = counters.get(key);
+        return counter == null ? 0 : counter.pending();
+    }
+
+    /**
+     * 将本地增量写入redis
+     */
+    public synchronized void flush() {
+        flushRequested.set(false);
+        Map<Counter, Long> deltas = new LinkedHashMap<>();
+        List<Counter> stillRetired = new ArrayList<>();
+        for (Counter counter : retired) {
+            long delta = counter.pending();
+            if (delta != 0) {
+                deltas.put(counter, delta);
+                stillRetired.add(counter);
+            }
+        }
+        for (Counter counter : counters.values()) {
+            long delta = counter.pending();
+            if (delta != 0) {
+                deltas.put(counter, delta);
+                counter.idleFlushes = 0;
+            } else if (++counter.idleFlushes >= IDLE_FLUSHES_BEFORE_REMOVE && counters.remove(counter.key, counter)) {
+                stillRetired.add(counter);
+            }
+        }
+        retired = stillRetired;
+        if (deltas.isEmpty()) {
+            return;
+        }
+        RedisSerializer<String> keySerializer = keySerializer();
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            deltas.forEach((counter, delta) ->
+                    connection.stringCommands().incrBy(keySerializer.serialize(counter.key), delta));
+            return null;
+        });
+        // 写入成功后才标记为已写入，失败时增量保留到下次
+        deltas.forEach((counter, delta) -> counter.flushed += delta);
+    }
+
+    /**
+     * 停止定时写入并执行最后一次写入
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+        // 写入移除瞬间的残余增量
+        flush();
+    }
+
+    private void requestFlush() {
+        try {
+            scheduler.execute(this::flushQuietly);
+        } catch (RejectedExecutionException e) {
+            // 判断closed之后并发关闭，关闭时会执行最后一次写入，无需再提交
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (Exception e) {
+            LogUtil.error("缓冲计数写入redis失败, error:[{}]", e.getMessage());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private RedisSerializer<String> keySerializer() {
+        return (RedisSerializer<String>) redisTemplate.getKeySerializer();
+    }
+
+    /**
+     * 累计计数，只增不清零，flushed记录已写入redis的部分，避免LongAdder清零时与并发累加竞争丢失增量
+     */
+    private static final class Counter {
+
+        private final String key;
+
+        private final LongAdder adder = new LongAdder();
+
+        /**
+         * 已写入redis的累计值，仅在flush中修改
+         */
+        private volatile long flushed;
+
+        private int idleFlushes;
+
+        private Counter(String key) {
+            this.key = key;
+        }
+
+        private long pending() {
+            return adder.sum() - flushed;
+        }
+
+    }
+
+}
@@ -0,0 +1,140 @@
+package com.kimzing.redis.counter;
+
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 分段计数器，无需加锁的库存/配额扣减.
+ * <p>
+ * 总量拆分到多个key(key:0 ~ key:n-1)，扣减时从随机分段开始，通过Lua脚本在余量充足时原子扣减，
+ * 余量不足则尝试下一个分段；集群模式下各分段分布在不同节点，避免单个热点key
+ * </p>
+ *
+ * @author KimZing - kimzing@163.com
+ * @since 2026/10/18 07:06
+ */
+public class SegmentedCounter {
+
+    /**
+     * KEYS[1]=分段, ARGV[1]=扣减数量；余量充足时扣减并返回剩余值，否则返回-1
+     */
+    private static final RedisScript<Long> DECREMENT_IF_ENOUGH = new DefaultRedisScript<>(
+            "local amount = tonumber(ARGV[1])\n" +
+            "if tonumber(redis.call('GET', KEYS[1]) or '0') >= amount then\n" +
+            "  return redis.call('DECRBY', KEYS[1], amount)\n" +
+            "end\n" +
+            "return -1", Long.class);
+
+    private static final RedisSerializer<Long> RESULT_SERIALIZER = new GenericToStringSerializer<>(Long.class);
+
+    private final RedisTemplate<String, ?> redisTemplate;
+
+    private final List<String> segmentKeys;
+
+    public SegmentedCounter(RedisTemplate<String, ?> redisTemplate, String key, int segments) {
+        this.redisTemplate = redisTemplate;
+        List<String> keys = new ArrayList<>(segments);
+        for (int i = 0; i < segments; i++) {
+            keys.add(key + ":" + i);
+        }
+        this.segmentKeys = Collections.unmodifiableList(keys);
+    }
+
+    /**
+     * 将总量平均分配到各分段，覆盖原有值
+     *
+     * @param total
+     */
+    public void init(long total) {
+        int size = segmentKeys.size();
+        RedisSerializer<String> keySerializer = keySerializer();
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (int i = 0; i < size; i++) {
+                long amount = total / size + (i < total % size ? 1 : 0);
+                connection.stringCommands().set(keySerializer.serialize(segmentKeys.get(i)), toBytes(amount));
+            }
+            return null;
+        });
+    }
+
+    /**
+     * 增加数量，随机加到某个分段上
+     *
+     * @param amount
+     */
+    public void add(long amount) {
+        byte[] rawKey = keySerializer().serialize(randomSegmentKey());
+        redisTemplate.execute((RedisCallback<Long>) connection -> connection.stringCommands().incrBy(rawKey, amount));
+    }
+
+    /**
+     * 尝试扣减，任意一个分段余量充足即扣减成功
+     * <p>
+     * 各分段余量都小于amount但总和足够时也会失败，适合每次扣减数量远小于分段余量的场景
+     * </p>
+     *
+     * @param amount
+     * @return 是否扣减成功
+     */
+    public boolean tryDecrement(long amount) {
+        int size = segmentKeys.size();
+        int start = ThreadLocalRandom.current().nextInt(size);
+        for (int i = 0; i < size; i++) {
+            Long remaining = redisTemplate.execute(DECREMENT_IF_ENOUGH, StringRedisSerializer.UTF_8,
+                    RESULT_SERIALIZER, Collections.singletonList(segmentKeys.get((start + i) % size)),
+                    String.valueOf(amount));
+            if (remaining != null && remaining >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 各分段的总和，一次MGET获取
+     *
+     * @return
+     */
+    public long sum() {
+        RedisSerializer<String> keySerializer = keySerializer();
+        byte[][] rawKeys = segmentKeys.stream().map(keySerializer::serialize).toArray(byte[][]::new);
+        List<byte[]> values = redisTemplate.execute((RedisCallback<List<byte[]>>) connection ->
+                connection.stringCommands().mGet(rawKeys));
+        long sum = 0;
+        if (values != null) {
+            for (byte[] value : values) {
+                sum += value == null ? 0 : Long.parseLong(new String(value, StandardCharsets.UTF_8));
+            }
+        }
+        return sum;
+    }
+
+    public List<String> getSegmentKeys() {
+        return segmentKeys;
+    }
+
+    private String randomSegmentKey() {
+        return segmentKeys.get(ThreadLocalRandom.current().nextInt(segmentKeys.size()));
+    }
+
+    @SuppressWarnings("unchecked")
+    private RedisSerializer<String> keySerializer() {
+        return (RedisSerializer<String>) redisTemplate.getKeySerializer();
+    }
+
+    private static byte[] toBytes(long value) {
+        return String.valueOf(value).getBytes(StandardCharsets.UTF_8);
+    }
+
+}
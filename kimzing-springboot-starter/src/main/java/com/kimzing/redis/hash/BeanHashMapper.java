@@ -0,0 +1,159 @@
+package com.kimzing.redis.hash;
+
+import com.kimzing.redis.codec.KFCRedisCodec;
+import com.kimzing.utils.exception.ExceptionManager;
+import org.springframework.beans.BeanUtils;
+
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 对象与redis hash之间的映射.
+ * <p>
+ * 每个属性对应hash中的一个field，属性值通过编解码器单独编码；每个类的属性访问器只解析一次并缓存
+ * </p>
+ *
+ * @author KimZing - kimzing@163.com
+ * @since 2026/10/18 06:56
+ */
+public class BeanHashMapper {
+
+    private final KFCRedisCodec codec;
+
+    private final Map<Class<?>, Map<String, PropertyAccessor>> accessorCache = new ConcurrentHashMap<>();
+
+    public BeanHashMapper(KFCRedisCodec codec) {
+        this.codec = codec;
+    }
+
+    /**
+     * 获取类的全部可读属性名
+     *
+     * @param clazz
+     * @return
+     */
+    public Collection<String> getPropertyNames(Class<?> clazz) {
+        return accessors(clazz).keySet();
+    }
+
+    /**
+     * 获取对象指定属性的值，包含值为null的属性
+     *
+     * @param bean
+     * @param fields
+     * @return
+     */
+    public Map<String, Object> toHash(Object bean, Collection<String> fields) {
+        Map<String, PropertyAccessor> accessors = accessors(bean.getClass());
+        Map<String, Object> hash = new LinkedHashMap<>(fields.size() * 2);
+        for (String field : fields) {
+            hash.put(field, accessor(accessors, bean.getClass(), field).get(bean));
+        }
+        return hash;
+    }
+
+    /**
+     * 将field与中间形态的值还原为对象，未知的field将被忽略
+     *
+     * @param hash
+     * @param clazz
+     * @param <V>
+     * @return
+     */
+    public <V> V fromHash(Map<String, Object> hash, Class<V> clazz) {
+        Map<String, PropertyAccessor> accessors = accessors(clazz);
+        V bean = BeanUtils.instantiateClass(clazz);
+        for (Map.Entry<String, Object> entry : hash.entrySet()) {
+            PropertyAccessor accessor = accessors.get(entry.getKey());
+            if (accessor != null && accessor.writeMethod != null && entry.getValue() != null) {
+                accessor.set(bean, codec.toType(entry.getValue(), accessor.genericType));
+            }
+        }
+        return bean;
+    }
+
+    /**
+     * 校验属性是否存在
+     *
+     * @param clazz
+     * @param fields
+     */
+    public void checkFields(Class<?> clazz, Collection<String> fields) {
+        Map<String, PropertyAccessor> accessors = accessors(clazz);
+        for (String field : fields) {
+            accessor(accessors, clazz, field);
+        }
+    }
+
+    private PropertyAccessor accessor(Map<String, PropertyAccessor> accessors, Class<?> clazz, String field) {
+        PropertyAccessor accessor = accessors.get(field);
+        if (accessor == null) {
+            throw ExceptionManager.createByCodeAndMessage("REDIS_1004",
+                    "属性不存在: " + clazz.getSimpleName() + "." + field);
+        }
+        return accessor;
+    }
+
+    private Map<String, PropertyAccessor> accessors(Class<?> clazz) {
+        return accessorCache.computeIfAbsent(clazz, BeanHashMapper::resolveAccessors);
+    }
+
+    private static Map<String, PropertyAccessor> resolveAccessors(Class<?> clazz) {
+        Map<String, PropertyAccessor> accessors = new LinkedHashMap<>();
+        for (PropertyDescriptor descriptor : BeanUtils.getPropertyDescriptors(clazz)) {
+            if (descriptor.getReadMethod() == null || "class".equals(descriptor.getName())) {
+                continue;
+            }
+            accessors.put(descriptor.getName(), new PropertyAccessor(descriptor));
+        }
+        return Collections.unmodifiableMap(accessors);
+    }
+
+    private static final class PropertyAccessor {
+
+        private final String name;
+
+        /**
+         * 属性的泛型类型，如Set&lt;User&gt;、Map&lt;String, User&gt;，解码时保留元素类型
+         */
+        private final Type genericType;
+
+        private final Method readMethod;
+
+        private final Method writeMethod;
+
+        private PropertyAccessor(PropertyDescriptor descriptor) {
+            this.name = descriptor.getName();
+            this.readMethod = descriptor.getReadMethod();
+            this.writeMethod = descriptor.getWriteMethod();
+            Type returnType = readMethod.getGenericReturnType();
+            // 泛型变量等无法直接解码的类型按属性的实际类型解码
+            this.genericType = returnType instanceof ParameterizedType ? returnType : descriptor.getPropertyType();
+        }
+
+        private Object get(Object bean) {
+            try {
+                return readMethod.invoke(bean);
+            } catch (ReflectiveOperationException e) {
+                throw ExceptionManager.createByCodeAndMessage("REDIS_1004", "读取属性失败: " + name);
+            }
+        }
+
+        private void set(Object bean, Object value) {
+            try {
+                writeMethod.invoke(bean, value);
+            } catch (ReflectiveOperationException e) {
+                throw ExceptionManager.createByCodeAndMessage("REDIS_1004", "写入属性失败: " + name);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,161 @@
+package com.kimzing.redis.hotkey;
+
+import org.springframework.util.Assert;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 线程安全的Count-Min Sketch，以固定内存估算元素出现次数，估算值只会偏大不会偏小.
+ * <p>
+ * 对key的UTF-8字节计算murmur3 128位哈希，拆分为两个独立的64位哈希h1、h2，
+ * 第i行使用h1 + i * h2定位(Kirsch–Mitzenmacher)，hashCode相同的key在各行上也能区分开
+ * </p>
+ *
+ * @author KimZing - kimzing@163.com
+ * @since 2026/10/18 07:00
+ */
+public class CountMinSketch {
+
+    private static final long C1 = 0x87c37b91114253d5L;
+
+    private static final long C2 = 0x4cf5ad432745937fL;
+
+    private final int depth;
+
+    private final int mask;
+
+    private final AtomicLongArray counters;
+
+    /**
+     * @param depth 哈希函数个数，越大误差概率越小
+     * @param width 每行计数器个数，向上取整为2的幂，越大误差越小
+     */
+    public CountMinSketch(int depth, int width) {
+        Assert.isTrue(depth > 0, "Depth must be greater than 0!");
+        Assert.isTrue(width > 0, "Width must be greater than 0!");
+        int tableWidth = Integer.highestOneBit(width - 1 == 0 ? 1 : width - 1) << 1;
+        this.depth = depth;
+        this.mask = tableWidth - 1;
+        this.counters = new AtomicLongArray(depth * tableWidth);
+    }
+
+    /**
+     * 计数加一，并返回加一后的估算次数
+     *
+     * @param key
+     * @return
+     */
+    public long increment(String key) {
+        long[] hash = hash(key);
+        long min = Long.MAX_VALUE;
+        for (int i = 0; i < depth; i++) {
+            min = Math.min(min, counters.incrementAndGet(index(hash, i)));
+        }
+        return min;
+    }
+
+    /**
+     * 估算出现次数
+     *
+     * @param key
+     * @return
+     */
+    public long estimate(String key) {
+        long[] hash = hash(key);
+        long min = Long.MAX_VALUE;
+        for (int i = 0; i < depth; i++) {
+            min = Math.min(min, counters.get(index(hash, i)));
+        }
+        return min;
+    }
+
+    /**
+     * 清空计数
+     */
+    public void reset() {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.set(i, 0);
+        }
+    }
+
+    private int index(long[] hash, int row) {
+        // h2为奇数，保证各行在2的幂宽度内的偏移互不相同
+        long combined = hash[0] + row * (hash[1] | 1);
+        return row * (mask + 1) + (int) (combined & mask);
+    }
+
+    /**
+     * murmur3 x64 128位哈希，seed为0
+     */
+    private static long[] hash(String key) {
+        byte[] data = key.getBytes(StandardCharsets.UTF_8);
+        int length = data.length;
+        int blocks = length >>> 4;
+        long h1 = 0;
+        long h2 = 0;
+        for (int i = 0; i < blocks; i++) {
+            long k1 = getLong(data, i << 4);
+            long k2 = getLong(data, (i << 4) + 8);
+            h1 ^= mixK1(k1);
+            h1 = Long.rotateLeft(h1, 27) + h2;
+            h1 = h1 * 5 + 0x52dce729;
+            h2 ^= mixK2(k2);
+            h2 = Long.rotateLeft(h2, 31) + h1;
+            h2 = h2 * 5 + 0x38495ab5;
+        }
+        int tail = blocks << 4;
+        int remaining = length & 15;
+        long k1 = 0;
+        long k2 = 0;
+        for (int i = remaining - 1; i >= 0; i--) {
+            long b = data[tail + i] & 0xffL;
+            if (i >= 8) {
+                k2 ^= b << ((i - 8) << 3);
+            } else {
+                k1 ^= b << (i << 3);
+            }
+        }
+        if (remaining > 8) {
+            h2 ^= mixK2(k2);
+        }
+        if (remaining > 0) {
+            h1 ^= mixK1(k1);
+        }
+        h1 ^= length;
+        h2 ^= length;
+        h1 += h2;
+        h2 += h1;
+        h1 = fmix(h1);
+        h2 = fmix(h2);
+        h1 += h2;
+        h2 += h1;
+        return new long[]{h1, h2};
+    }
+
+    private static long getLong(byte[] data, int offset) {
+        long value = 0;
+        for (int i = 7; i >= 0; i--) {
+            value = (value << 8) | (data[offset + i] & 0xffL);
+        }
+        return value;
+    }
+
+    private static long mixK1(long k1) {
+        return Long.rotateLeft(k1 * C1, 31) * C2;
+    }
+
+    private static long mixK2(long k2) {
+        return Long.rotateLeft(k2 * C2, 33) * C1;
+    }
+
+    private static long fmix(long k) {
+        k ^= k >>> 33;
+        k *= 0xff51afd7ed558ccdL;
+        k ^= k >>> 33;
+        k *= 0xc4ceb9fe1a85ec53L;
+        k ^= k >>> 33;
+        return k;
+    }
+
+}
@@ -0,0 +1,26 @@
+package com.kimzing.redis.hotkey;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * 热点key.
+ *
+ * @author KimZing - kimzing@163.com
+ * @since 2026/10/18 07:00
+ */
+@Data
+@AllArgsConstructor
+public class HotKey {
+
+    /**
+     * key，不含服务前缀
+     */
+    private String key;
+
+    /**
+     * 统计窗口内估算的访问次数
+     */
+    private long count;
+
+}
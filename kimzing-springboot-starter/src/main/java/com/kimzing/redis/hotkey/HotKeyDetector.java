@@ -0,0 +1,137 @@
+package com.kimzing.redis.hotkey;
+
+import org.springframework.util.Assert;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 热点key探测.
+ * <p>
+ * 按采样率抽样访问，以Count-Min Sketch统计每个窗口内的访问次数，估算次数达到阈值的key记为热点，
+ * 热点集合最多保留topK个，容量不足时替换次数最少的key。热点在被识别的窗口及下一个窗口内有效
+ * </p>
+ *
+ * @author KimZing - kimzing@163.com
+ * @since 2026/10/18 07:00
+ */
+public class HotKeyDetector {
+
+    private final CountMinSketch sketch = new CountMinSketch(4, 4096);
+
+    private final int sampleRate;
+
+    private final long threshold;
+
+    private final long windowNanos;
+
+    private final int topK;
+
+    private volatile long windowEnd;
+
+    private volatile Map<String, Long> currentHotKeys = new ConcurrentHashMap<>();
+
+    private volatile Map<String, Long> previousHotKeys = new ConcurrentHashMap<>();
+
+    /**
+     * @param sampleRate 采样率，每sampleRate次访问统计一次，1表示全部统计
+     * @param threshold  窗口内访问次数达到该值时视为热点
+     * @param window     统计窗口
+     * @param topK       最多保留的热点个数
+     */
+    public HotKeyDetector(int sampleRate, long threshold, Duration window, int topK) {
+        Assert.isTrue(sampleRate > 0, "SampleRate must be greater than 0!");
+        Assert.isTrue(threshold > 0, "Threshold must be greater than 0!");
+        Assert.isTrue(topK > 0, "TopK must be greater than 0!");
+        this.sampleRate = sampleRate;
+        this.threshold = threshold;
+        this.windowNanos = window.toNanos();
+        this.topK = topK;
+        this.windowEnd = System.nanoTime() + windowNanos;
+    }
+
+    /**
+     * 记录一次访问
+     *
+     * @param key
+     */
+    public void record(String key) {
+        if (sampleRate > 1 && ThreadLocalRandom.current().nextInt(sampleRate) != 0) {
+            return;
+        }
+        rotateIfNecessary();
+        long count = sketch.increment(key) * sampleRate;
+        if (count < threshold) {
+            return;
+        }
+        Map<String, Long> hotKeys = currentHotKeys;
+        if (hotKeys.replace(key, count) == null) {
+            addHotKey(hotKeys, key, count);
+        }
+    }
+
+    /**
+     * 是否为热点key
+     *
+     * @param key
+     * @return
+     */
+    public boolean isHot(String key) {
+        rotateIfNecessary();
+        return currentHotKeys.containsKey(key) || previousHotKeys.containsKey(key);
+    }
+
+    /**
+     * 获取当前热点key，按访问次数降序
+     *
+     * @return
+     */
+    public List<HotKey> getHotKeys() {
+        rotateIfNecessary();
+        Map<String, Long> merged = new HashMap<>(previousHotKeys);
+        currentHotKeys.forEach((key, count) -> merged.merge(key, count, Math::max));
+        List<HotKey> hotKeys = new ArrayList<>(merged.size());
+        merged.forEach((key, count) -> hotKeys.add(new HotKey(key, count)));
+        hotKeys.sort(Comparator.comparingLong(HotKey::getCount).reversed());
+        return hotKeys;
+    }
+
+    private synchronized void addHotKey(Map<String, Long> hotKeys, String key, long count) {
+        if (hotKeys.size() >= topK) {
+            Map.Entry<String, Long> coldest = null;
+            for (Map.Entry<String, Long> entry : hotKeys.entrySet()) {
+                if (coldest == null || entry.getValue() < coldest.getValue()) {
+                    coldest = entry;
+                }
+            }
+            if (coldest == null || coldest.getValue() >= count) {
+                return;
+            }
+            hotKeys.remove(coldest.getKey());
+        }
+        hotKeys.put(key, count);
+    }
+
+    private void rotateIfNecessary() {
+        if (System.nanoTime() - windowEnd < 0) {
+            return;
+        }
+        synchronized (this) {
+            long now = System.nanoTime();
+            if (now - windowEnd < 0) {
+                return;
+            }
+            previousHotKeys = currentHotKeys;
+            currentHotKeys = new ConcurrentHashMap<>();
+            sketch.reset();
+            windowEnd = now + windowNanos;
+        }
+    }
+
+}
@@ -0,0 +1,107 @@
+package com.kimzing.redis.limit;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 本地令牌桶预检.
+ * <p>
+ * 本地桶只扣减本节点已在redis获取成功的令牌，与redis中的桶参数相同，因此本地令牌数始终不少于全局令牌数。
+ * 本地令牌不足时全局必然不足，可直接拒绝而无需访问redis；本地令牌充足时仍需由redis判定。
+ * 超过最大key数量时清空重建，新建的桶是满的，只会少拦截而不会误拦截
+ * </p>
+ *
+ * @author KimZing - kimzing@163.com
+ * @since 2026/10/18 06:58
+ */
+public class LocalTokenBuckets {
+
+    private final int maximumKeys;
+
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+    private final LongAdder rejectCount = new LongAdder();
+
+    public LocalTokenBuckets(int maximumKeys) {
+        this.maximumKeys = maximumKeys;
+    }
+
+    /**
+     * 本地是否可能获取到令牌，返回false时全局一定无法获取
+     *
+     * @param key
+     * @param capacity
+     * @param permitsPerSecond
+     * @param permits
+     * @return
+     */
+    public boolean mayAcquire(String key, long capacity, double permitsPerSecond, long permits) {
+        boolean may = bucket(key).available(capacity, permitsPerSecond) >= permits;
+        if (!may) {
+            rejectCount.increment();
+        }
+        return may;
+    }
+
+    /**
+     * 记录本节点已在redis获取成功的令牌
+     *
+     * @param key
+     * @param capacity
+     * @param permitsPerSecond
+     * @param permits
+     */
+    public void acquired(String key, long capacity, double permitsPerSecond, long permits) {
+        bucket(key).consume(capacity, permitsPerSecond, permits);
+    }
+
+    /**
+     * 本地直接拒绝的次数
+     *
+     * @return
+     */
+    public long getRejectCount() {
+        return rejectCount.sum();
+    }
+
+    private Bucket bucket(String key) {
+        Bucket bucket = buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= maximumKeys) {
+            buckets.clear();
+        }
+        return buckets.computeIfAbsent(key, k -> new Bucket());
+    }
+
+    private static final class Bucket {
+
+        private double tokens = -1;
+
+        private long lastNanos;
+
+        synchronized double available(long capacity, double permitsPerSecond) {
+            refill(capacity, permitsPerSecond);
+            return tokens;
+        }
+
+        synchronized void consume(long capacity, double permitsPerSecond, long permits) {
+            refill(capacity, permitsPerSecond);
+            tokens = Math.max(0, tokens - permits);
+        }
+
+        private void refill(long capacity, double permitsPerSecond) {
+            long now = System.nanoTime();
+            if (tokens < 0) {
+                tokens = capacity;
+            } else {
+                tokens = Math.min(capacity, tokens + (now - lastNanos) / 1e9 * permitsPerSecond);
+            }
+            lastNanos = now;
+        }
+
+    }
+
+}
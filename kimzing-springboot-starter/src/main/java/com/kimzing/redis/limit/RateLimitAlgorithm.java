@@ -0,0 +1,21 @@
+package com.kimzing.redis.limit;
+
+/**
+ * 限流算法.
+ *
+ * @author KimZing - kimzing@163.com
+ * @since 2026/10/18 06:58
+ */
+public enum RateLimitAlgorithm {
+
+    /**
+     * 令牌桶，允许不超过容量的突发流量
+     */
+    TOKEN_BUCKET,
+
+    /**
+     * 滑动窗口，任意窗口时间内的请求数不超过上限
+     */
+    SLIDING_WINDOW
+
+}
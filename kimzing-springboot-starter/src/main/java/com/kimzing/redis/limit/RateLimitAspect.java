@@ -0,0 +1,91 @@
+package com.kimzing.redis.limit;
+
+import com.kimzing.redis.KFCRedisTemplate;
+import com.kimzing.utils.exception.ExceptionManager;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.context.expression.MethodBasedEvaluationContext;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.Expression;
+import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.util.Assert;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 方法限流切面.
+ * <p>
+ * 仅当配置kimzing.redis.rate-limit.enabled=true时生效
+ * </p>
+ *
+ * @author KimZing - kimzing@163.com
+ * @since 2026/10/18 06:58
+ */
+@Aspect
+public class RateLimitAspect {
+
+    private static final String KEY_PREFIX = "rate-limit:";
+
+    private final KFCRedisTemplate kfcRedisTemplate;
+
+    private final ExpressionParser parser = new SpelExpressionParser();
+
+    private final ParameterNameDiscoverer parameterNameDiscoverer = new DefaultParameterNameDiscoverer();
+
+    private final Map<String, Expression> expressionCache = new ConcurrentHashMap<>();
+
+    public RateLimitAspect(KFCRedisTemplate kfcRedisTemplate) {
+        this.kfcRedisTemplate = kfcRedisTemplate;
+    }
+
+    @Pointcut("@annotation(com.kimzing.redis.limit.RateLimited)")
+    public void rateLimitPointCut() {}
+
+    /**
+     * 对方法进行环绕处理
+     *
+     * @param joinPoint
+     * @return
+     * @throws Throwable
+     */
+    @Around("rateLimitPointCut()")
+    public Object around(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        RateLimited rateLimited = method.getAnnotation(RateLimited.class);
+        Assert.isTrue(rateLimited.limit() > 0 && rateLimited.window() > 0,
+                "RateLimited limit and window must be greater than 0: " + method);
+        String key = KEY_PREFIX + resolveKey(joinPoint, method, rateLimited);
+        Duration window = Duration.ofSeconds(rateLimited.window());
+        boolean allowed;
+        if (rateLimited.algorithm() == RateLimitAlgorithm.SLIDING_WINDOW) {
+            allowed = kfcRedisTemplate.tryAcquireWindow(key, rateLimited.limit(), window);
+        } else {
+            double permitsPerSecond = (double) rateLimited.limit() / rateLimited.window();
+            allowed = kfcRedisTemplate.tryAcquireToken(key, rateLimited.limit(), permitsPerSecond, 1);
+        }
+        if (!allowed) {
+            throw ExceptionManager.createByCodeAndMessage("REDIS_1005", rateLimited.message());
+        }
+        return joinPoint.proceed();
+    }
+
+    private String resolveKey(ProceedingJoinPoint joinPoint, Method method, RateLimited rateLimited) {
+        if (rateLimited.key().isEmpty()) {
+            return method.getDeclaringClass().getName() + "." + method.getName();
+        }
+        EvaluationContext context = new MethodBasedEvaluationContext(joinPoint.getTarget(), method,
+                joinPoint.getArgs(), parameterNameDiscoverer);
+        return String.valueOf(expressionCache.computeIfAbsent(rateLimited.key(), parser::parseExpression)
+                .getValue(context));
+    }
+
+}
@@ -0,0 +1,63 @@
+package com.kimzing.redis.limit;
+
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+/**
+ * 限流使用的Lua脚本，一次往返完成判断与扣减.
+ * <p>
+ * 时间统一取自redis服务端的TIME，避免各节点时钟不一致
+ * </p>
+ *
+ * @author KimZing - kimzing@163.com
+ * @since 2026/10/18 06:58
+ */
+public final class RateLimitScripts {
+
+    private static final String NOW =
+            "if redis.replicate_commands then redis.replicate_commands() end\n" +
+            "local time = redis.call('TIME')\n" +
+            "local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)\n";
+
+    /**
+     * 令牌桶: KEYS[1]=桶, ARGV[1]=容量, ARGV[2]=每毫秒生成的令牌数, ARGV[3]=本次获取的令牌数
+     */
+    public static final RedisScript<Long> TOKEN_BUCKET = new DefaultRedisScript<>(NOW +
+            "local capacity = tonumber(ARGV[1])\n" +
+            "local rate = tonumber(ARGV[2])\n" +
+            "local permits = tonumber(ARGV[3])\n" +
+            "local bucket = redis.call('HMGET', KEYS[1], 'tokens', 'ts')\n" +
+            "local tokens = tonumber(bucket[1])\n" +
+            "local ts = tonumber(bucket[2])\n" +
+            "if tokens == nil or ts == nil then\n" +
+            "  tokens = capacity\n" +
+            "  ts = now\n" +
+            "end\n" +
+            "tokens = math.min(capacity, tokens + math.max(0, now - ts) * rate)\n" +
+            "local allowed = 0\n" +
+            "if tokens >= permits then\n" +
+            "  tokens = tokens - permits\n" +
+            "  allowed = 1\n" +
+            "end\n" +
+            "redis.call('HMSET', KEYS[1], 'tokens', tostring(tokens), 'ts', now)\n" +
+            "redis.call('PEXPIRE', KEYS[1], math.ceil(capacity / rate) + 1000)\n" +
+            "return allowed", Long.class);
+
+    /**
+     * 滑动窗口: KEYS[1]=窗口, ARGV[1]=上限, ARGV[2]=窗口毫秒数, ARGV[3]=本次请求的唯一标识
+     */
+    public static final RedisScript<Long> SLIDING_WINDOW = new DefaultRedisScript<>(NOW +
+            "local limit = tonumber(ARGV[1])\n" +
+            "local window = tonumber(ARGV[2])\n" +
+            "redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', now - window)\n" +
+            "if redis.call('ZCARD', KEYS[1]) < limit then\n" +
+            "  redis.call('ZADD', KEYS[1], now, ARGV[3])\n" +
+            "  redis.call('PEXPIRE', KEYS[1], window)\n" +
+            "  return 1\n" +
+            "end\n" +
+            "return 0", Long.class);
+
+    private RateLimitScripts() {
+    }
+
+}
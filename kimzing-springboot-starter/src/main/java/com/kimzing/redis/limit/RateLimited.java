@@ -0,0 +1,54 @@
+package com.kimzing.redis.limit;
+
+import java.lang.annotation.*;
+
+/**
+ * 方法限流.
+ * <p>
+ * 标有该注解的方法，将会通过KFCRedisTemplate进行分布式限流，超过限制时抛出REDIS_1005异常
+ * </p>
+ *
+ * @author KimZing - kimzing@163.com
+ * @since 2026/10/18 06:58
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RateLimited {
+
+    /**
+     * 限流key，支持SpEL，例如: 'tenant:' + #tenantId，为空时使用方法签名
+     *
+     * @return
+     */
+    String key() default "";
+
+    /**
+     * 窗口时间内允许的请求数，令牌桶算法下即为桶容量
+     *
+     * @return
+     */
+    long limit();
+
+    /**
+     * 窗口时间，单位秒
+     *
+     * @return
+     */
+    long window() default 1;
+
+    /**
+     * 限流算法
+     *
+     * @return
+     */
+    RateLimitAlgorithm algorithm() default RateLimitAlgorithm.TOKEN_BUCKET;
+
+    /**
+     * 超过限制时的提示信息
+     *
+     * @return
+     */
+    String message() default "请求过于频繁，请稍后再试";
+
+}
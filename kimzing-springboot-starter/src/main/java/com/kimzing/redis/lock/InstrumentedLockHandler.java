@@ -0,0 +1,93 @@
+package com.kimzing.redis.lock;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 记录锁指标的代理处理器，仅拦截同步的加锁与解锁方法，其余方法直接委托.
+ *
+ * @author KimZing - kimzing@163.com
+ * @since 2026/10/18 06:52
+ */
+class InstrumentedLockHandler implements InvocationHandler {
+
+    private final Object target;
+
+    private final String lockKey;
+
+    private final String type;
+
+    private final LockMetrics lockMetrics;
+
+    /**
+     * 线程id -> 持有信息，锁可重入，仅在最外层加锁与解锁时计时
+     */
+    private final Map<Long, Hold> holds = new ConcurrentHashMap<>();
+
+    InstrumentedLockHandler(Object target, String lockKey, String type, LockMetrics lockMetrics) {
+        this.target = target;
+        this.lockKey = lockKey;
+        this.type = type;
+        this.lockMetrics = lockMetrics;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        switch (method.getName()) {
+            case "lock":
+            case "lockInterruptibly":
+            case "tryLock":
+                return acquire(method, args);
+            case "unlock":
+                Object result = delegate(target, method, args);
+                released();
+                return result;
+            case "forceUnlock":
+                Object forced = delegate(target, method, args);
+                holds.clear();
+                return forced;
+            default:
+                return delegate(target, method, args);
+        }
+    }
+
+    private Object acquire(Method method, Object[] args) throws Throwable {
+        long start = System.nanoTime();
+        Object result = delegate(target, method, args);
+        boolean acquired = !(result instanceof Boolean) || (Boolean) result;
+        lockMetrics.recordAcquire(lockKey, type, System.nanoTime() - start, acquired);
+        if (acquired) {
+            holds.computeIfAbsent(Thread.currentThread().getId(), id -> new Hold()).count++;
+        }
+        return result;
+    }
+
+    private void released() {
+        long threadId = Thread.currentThread().getId();
+        Hold hold = holds.get(threadId);
+        if (hold != null && --hold.count == 0) {
+            holds.remove(threadId);
+            lockMetrics.recordHold(type, System.nanoTime() - hold.start);
+        }
+    }
+
+    static Object delegate(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private static class Hold {
+
+        private final long start = System.nanoTime();
+
+        private int count;
+
+    }
+
+}
@@ -0,0 +1,181 @@
+package com.kimzing.redis.lock;
+
+import org.redisson.api.RLock;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 本地预加锁.
+ * <p>
+ * 获取分布式锁前先获取同名的JVM本地锁，同一节点同一时间只有一个线程竞争分布式锁，
+ * 其余线程在本地排队，减少对redis的加锁请求与订阅通知。本地锁按key引用计数，无人使用时自动移除
+ * </p>
+ *
+ * @author KimZing - kimzing@163.com
+ * @since 2026/10/18 07:06
+ */
+public class LocalPreLock {
+
+    private final Map<String, LocalLock> locks = new ConcurrentHashMap<>();
+
+    /**
+     * 包装为先获取本地锁的分布式锁
+     *
+     * @param lock
+     * @param lockKey
+     * @return
+     */
+    public RLock wrap(RLock lock, String lockKey) {
+        return (RLock) Proxy.newProxyInstance(RLock.class.getClassLoader(), new Class[]{RLock.class},
+                (proxy, method, args) -> invoke(lock, lockKey, method, args));
+    }
+
+    /**
+     * 当前存在的本地锁个数
+     *
+     * @return
+     */
+    public int size() {
+        return locks.size();
+    }
+
+    private Object invoke(RLock lock, String lockKey, Method method, Object[] args) throws Throwable {
+        int parameterCount = method.getParameterCount();
+        switch (method.getName()) {
+            case "lock":
+            case "lockInterruptibly":
+                return lock(lock, lockKey, method, args);
+            case "tryLock":
+                if (parameterCount == 0) {
+                    return tryLock(lock, lockKey);
+                }
+                if (parameterCount == 2 || parameterCount == 3) {
+                    return tryLock(lock, lockKey, args);
+                }
+                return InstrumentedLockHandler.delegate(lock, method, args);
+            case "unlock":
+                try {
+                    return InstrumentedLockHandler.delegate(lock, method, args);
+                } finally {
+                    LocalLock localLock = locks.get(lockKey);
+                    if (localLock != null && localLock.lock.isHeldByCurrentThread()) {
+                        localLock.lock.unlock();
+                        release(lockKey);
+                    }
+                }
+            default:
+                return InstrumentedLockHandler.delegate(lock, method, args);
+        }
+    }
+
+    private Object lock(RLock lock, String lockKey, Method method, Object[] args) throws Throwable {
+        LocalLock localLock = retain(lockKey);
+        try {
+            if ("lockInterruptibly".equals(method.getName())) {
+                localLock.lock.lockInterruptibly();
+            } else {
+                localLock.lock.lock();
+            }
+        } catch (InterruptedException e) {
+            release(lockKey);
+            throw e;
+        }
+        try {
+            return InstrumentedLockHandler.delegate(lock, method, args);
+        } catch (Throwable e) {
+            unlockLocal(lockKey, localLock);
+            throw e;
+        }
+    }
+
+    private boolean tryLock(RLock lock, String lockKey) {
+        LocalLock localLock = retain(lockKey);
+        if (!localLock.lock.tryLock()) {
+            release(lockKey);
+            return false;
+        }
+        boolean acquired = false;
+        try {
+            acquired = lock.tryLock();
+            return acquired;
+        } finally {
+            if (!acquired) {
+                unlockLocal(lockKey, localLock);
+            }
+        }
+    }
+
+    /**
+     * tryLock(waitTime, unit)与tryLock(waitTime, leaseTime, unit)，等待时间由本地锁与分布式锁共享
+     * <p>
+     * 与Redisson一致，等待时间为负数时只尝试一次，不会无限等待
+     * </p>
+     */
+    private boolean tryLock(RLock lock, String lockKey, Object[] args) throws InterruptedException {
+        TimeUnit unit = (TimeUnit) args[args.length - 1];
+        long waitNanos = Math.max(0, unit.toNanos((Long) args[0]));
+        long deadline = System.nanoTime() + waitNanos;
+        LocalLock localLock = retain(lockKey);
+        boolean locked = false;
+        try {
+            locked = localLock.lock.tryLock(waitNanos, TimeUnit.NANOSECONDS);
+        } finally {
+            if (!locked) {
+                release(lockKey);
+            }
+        }
+        if (!locked) {
+            return false;
+        }
+        boolean acquired = false;
+        try {
+            long remaining = Math.max(0, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()));
+            acquired = args.length == 3
+                    ? lock.tryLock(remaining, leaseMillis((Long) args[1], unit), TimeUnit.MILLISECONDS)
+                    : lock.tryLock(remaining, TimeUnit.MILLISECONDS);
+            return acquired;
+        } finally {
+            if (!acquired) {
+                unlockLocal(lockKey, localLock);
+            }
+        }
+    }
+
+    private static long leaseMillis(long leaseTime, TimeUnit unit) {
+        return leaseTime < 0 ? leaseTime : unit.toMillis(leaseTime);
+    }
+
+    private void unlockLocal(String lockKey, LocalLock localLock) {
+        localLock.lock.unlock();
+        release(lockKey);
+    }
+
+    private LocalLock retain(String lockKey) {
+        return locks.compute(lockKey, (key, localLock) -> {
+            LocalLock retained = localLock == null ? new LocalLock() : localLock;
+            retained.references++;
+            return retained;
+        });
+    }
+
+    private void release(String lockKey) {
+        locks.computeIfPresent(lockKey, (key, localLock) -> --localLock.references == 0 ? null : localLock);
+    }
+
+    private static class LocalLock {
+
+        private final ReentrantLock lock = new ReentrantLock();
+
+        /**
+         * 引用次数，仅在ConcurrentHashMap的compute中修改
+         */
+        private int references;
+
+    }
+
+}
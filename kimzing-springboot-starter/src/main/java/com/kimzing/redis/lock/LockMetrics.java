@@ -0,0 +1,274 @@
+package com.kimzing.redis.lock;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.redisson.api.RLock;
+import org.redisson.api.RReadWriteLock;
+
+import java.lang.reflect.Proxy;
+import java.util.AbstractMap;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * 分布式锁的使用指标.
+ * <p>
+ * 通过Micrometer记录加锁等待时间、持有时间、tryLock失败次数，并统计竞争最激烈的锁key。
+ * 为避免标签基数过大，仅等待时间最长的topKeys个锁key以kfc.redis.lock.contention.wait指标发布。
+ * 竞争统计按窗口进行，每个窗口结束时发布该窗口内的前列key并清空统计，指标值为该窗口内的累计等待时间
+ * </p>
+ *
+ * @author KimZing - kimzing@163.com
+ * @since 2026/10/18 06:52
+ */
+public class LockMetrics {
+
+    public static final String TYPE_LOCK = "lock";
+
+    public static final String TYPE_READ = "read";
+
+    public static final String TYPE_WRITE = "write";
+
+    /**
+     * 最多统计的锁key个数
+     */
+    private static final int MAX_TRACKED_KEYS = 1024;
+
+    /**
+     * 等待时间达到该值(或tryLock失败)的加锁才计入竞争统计，低于该值视为无竞争，仅包含一次redis往返
+     */
+    private static final long MIN_CONTENDED_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+
+    /**
+     * 竞争统计窗口，即竞争最激烈的锁key指标的刷新间隔
+     */
+    private static final long TOP_KEYS_REFRESH_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    private final Map<String, Contention> contentions = new ConcurrentHashMap<>();
+
+    /**
+     * 锁类型 -> 该类型的指标，创建后复用
+     */
+    private final Map<String, TypeMeters> typeMeters = new ConcurrentHashMap<>();
+
+    private final MeterRegistry meterRegistry;
+
+    private final int topKeys;
+
+    private final MultiGauge topContendedKeys;
+
+    private final AtomicLong nextTopKeysRefresh = new AtomicLong(System.nanoTime());
+
+    public LockMetrics(MeterRegistry meterRegistry) {
+        this(meterRegistry, 10);
+    }
+
+    /**
+     * @param meterRegistry
+     * @param topKeys       发布为指标的竞争最激烈的锁key个数
+     */
+    public LockMetrics(MeterRegistry meterRegistry, int topKeys) {
+        this.meterRegistry = meterRegistry;
+        this.topKeys = topKeys;
+        this.topContendedKeys = MultiGauge.builder("kfc.redis.lock.contention.wait")
+                .description("Accumulated wait time of the most contended redis lock keys")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 包装为带指标记录的锁
+     *
+     * @param lock
+     * @param lockKey
+     * @param type
+     * @return
+     */
+    public RLock wrap(RLock lock, String lockKey, String type) {
+        return (RLock) Proxy.newProxyInstance(RLock.class.getClassLoader(), new Class[]{RLock.class},
+                new InstrumentedLockHandler(lock, lockKey, type, this));
+    }
+
+    /**
+     * 包装为带指标记录的读写锁
+     *
+     * @param readWriteLock
+     * @param lockKey
+     * @return
+     */
+    public RReadWriteLock wrap(RReadWriteLock readWriteLock, String lockKey) {
+        return (RReadWriteLock) Proxy.newProxyInstance(RReadWriteLock.class.getClassLoader(),
+                new Class[]{RReadWriteLock.class}, (proxy, method, args) -> {
+                    if (method.getParameterCount() == 0 && "readLock".equals(method.getName())) {
+                        return wrap(readWriteLock.readLock(), lockKey, TYPE_READ);
+                    }
+                    if (method.getParameterCount() == 0 && "writeLock".equals(method.getName())) {
+                        return wrap(readWriteLock.writeLock(), lockKey, TYPE_WRITE);
+                    }
+                    return InstrumentedLockHandler.delegate(readWriteLock, method, args);
+                });
+    }
+
+    /**
+     * 获取当前统计窗口内竞争最激烈(等待时间最长)的锁key及其累计等待时间(毫秒)
+     *
+     * @param n
+     * @return
+     */
+    public List<Map.Entry<String, Long>> getTopContendedKeys(int n) {
+        return contentions.entrySet().stream()
+                .map(entry -> new AbstractMap.SimpleImmutableEntry<>(entry.getKey(),
+                        TimeUnit.NANOSECONDS.toMillis(entry.getValue().waitNanos.sum())))
+                .sorted(Comparator.comparing(Map.Entry<String, Long>::getValue).reversed())
+                .limit(n)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 获取当前统计窗口内锁key的tryLock失败次数
+     *
+     * @param lockKey
+     * @return
+     */
+    public long getFailedCount(String lockKey) {
+        Contention contention = contentions.get(lockKey);
+        return contention == null ? 0 : contention.failedCount.sum();
+    }
+
+    /**
+     * 清空锁key的竞争统计
+     */
+    public void resetContentions() {
+        contentions.clear();
+        refreshTopContendedKeys();
+    }
+
+    /**
+     * 以当前统计重新发布竞争最激烈的锁key指标，不再位于前列的key会被移除
+     */
+    public void refreshTopContendedKeys() {
+        List<MultiGauge.Row<?>> rows = getTopContendedKeys(topKeys).stream()
+                .map(entry -> MultiGauge.Row.of(Tags.of("key", entry.getKey()), entry.getValue()))
+                .collect(Collectors.toList());
+        topContendedKeys.register(rows, true);
+    }
+
+    void recordAcquire(String lockKey, String type, long waitNanos, boolean acquired) {
+        TypeMeters meters = typeMeters.computeIfAbsent(type, TypeMeters::new);
+        if (acquired) {
+            meters.acquiredWait.record(waitNanos, TimeUnit.NANOSECONDS);
+        } else {
+            meters.failedWait.record(waitNanos, TimeUnit.NANOSECONDS);
+            meters.failed.increment();
+        }
+        Contention contention = contentions.get(lockKey);
+        if (contention == null && (waitNanos >= MIN_CONTENDED_WAIT_NANOS || !acquired)) {
+            contention = track(lockKey);
+        }
+        if (contention != null) {
+            contention.waitNanos.add(waitNanos);
+            if (!acquired) {
+                contention.failedCount.increment();
+            }
+        }
+        long now = System.nanoTime();
+        long next = nextTopKeysRefresh.get();
+        if (now - next >= 0 && nextTopKeysRefresh.compareAndSet(next, now + TOP_KEYS_REFRESH_NANOS)) {
+            // 发布刚结束的窗口的统计，并开始新的窗口
+            refreshTopContendedKeys();
+            contentions.clear();
+        }
+    }
+
+    /**
+     * 开始统计锁key的竞争情况
+     * <p>
+     * 统计已满时替换等待时间最短的key，新key继承其等待时间(space-saving)，
+     * 保证新出现的热点key能够进入统计，不会被早先出现的冷key占满
+     * </p>
+     *
+     * @param lockKey
+     * @return
+     */
+    private Contention track(String lockKey) {
+        long inheritedWaitNanos = 0;
+        if (contentions.size() >= MAX_TRACKED_KEYS) {
+            Map.Entry<String, Contention> min = null;
+            long minWaitNanos = Long.MAX_VALUE;
+            for (Map.Entry<String, Contention> entry : contentions.entrySet()) {
+                long wait = entry.getValue().waitNanos.sum();
+                if (wait < minWaitNanos) {
+                    min = entry;
+                    minWaitNanos = wait;
+                }
+            }
+            if (min != null && contentions.remove(min.getKey(), min.getValue())) {
+                inheritedWaitNanos = minWaitNanos;
+            }
+        }
+        long initialWaitNanos = inheritedWaitNanos;
+        return contentions.computeIfAbsent(lockKey, key -> new Contention(initialWaitNanos));
+    }
+
+    void recordHold(String type, long holdNanos) {
+        typeMeters.computeIfAbsent(type, TypeMeters::new).hold.record(holdNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 同一锁类型的全部指标
+     */
+    private final class TypeMeters {
+
+        private final Timer acquiredWait;
+
+        private final Timer failedWait;
+
+        private final Counter failed;
+
+        private final Timer hold;
+
+        private TypeMeters(String type) {
+            this.acquiredWait = waitTimer(type, "acquired");
+            this.failedWait = waitTimer(type, "failed");
+            this.failed = Counter.builder("kfc.redis.lock.failed")
+                    .description("Number of failed tryLock attempts")
+                    .tag("type", type)
+                    .register(meterRegistry);
+            this.hold = Timer.builder("kfc.redis.lock.hold")
+                    .description("Time a redis lock is held")
+                    .tag("type", type)
+                    .register(meterRegistry);
+        }
+
+        private Timer waitTimer(String type, String result) {
+            return Timer.builder("kfc.redis.lock.wait")
+                    .description("Time spent waiting to acquire a redis lock")
+                    .tag("type", type)
+                    .tag("result", result)
+                    .register(meterRegistry);
+        }
+
+    }
+
+    private static class Contention {
+
+        private final LongAdder waitNanos = new LongAdder();
+
+        private final LongAdder failedCount = new LongAdder();
+
+        private Contention(long initialWaitNanos) {
+            waitNanos.add(initialWaitNanos);
+        }
+
+    }
+
+}
@@ -0,0 +1,103 @@
+package com.kimzing.redis.lock;
+
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 分段锁.
+ * <p>
+ * 将一个逻辑资源拆分为多个子锁(lockKey:0 ~ lockKey:n-1)，每个子锁保护资源的一个分段(例如库存拆分到多个key)，
+ * 并发请求分散到不同分段上，降低单个锁的竞争；需要操作整个资源时通过getAllLock获取覆盖全部子锁的联锁
+ * </p>
+ * <pre>
+ * SegmentedLock lock = kfcRedisTemplate.getSegmentedLock("stock:sku-1", 8);
+ * int segment = lock.tryLockAny(100, 10000, TimeUnit.MILLISECONDS);
+ * if (segment &gt;= 0) {
+ *     try {
+ *         // 扣减第segment个分段的库存
+ *     } finally {
+ *         lock.unlock(segment);
+ *     }
+ * }
+ * </pre>
+ *
+ * @author KimZing - kimzing@163.com
+ * @since 2026/10/18 07:06
+ */
+public class SegmentedLock {
+
+    private final RedissonClient redissonClient;
+
+    private final List<RLock> segments;
+
+    public SegmentedLock(RedissonClient redissonClient, List<RLock> segments) {
+        this.redissonClient = redissonClient;
+        this.segments = segments;
+    }
+
+    /**
+     * 分段个数
+     *
+     * @return
+     */
+    public int size() {
+        return segments.size();
+    }
+
+    /**
+     * 获取指定分段的锁
+     *
+     * @param index
+     * @return
+     */
+    public RLock getSegment(int index) {
+        return segments.get(index);
+    }
+
+    /**
+     * 获取任意一个空闲的分段
+     * <p>
+     * 从随机分段开始逐个尝试，不等待；全部被占用时在起始分段上最多等待waitTime
+     * </p>
+     *
+     * @param waitTime
+     * @param leaseTime 持有时间，-1表示由看门狗自动续期
+     * @param unit
+     * @return 获取到的分段序号，获取失败返回-1
+     * @throws InterruptedException
+     */
+    public int tryLockAny(long waitTime, long leaseTime, TimeUnit unit) throws InterruptedException {
+        int size = segments.size();
+        int start = ThreadLocalRandom.current().nextInt(size);
+        for (int i = 0; i < size; i++) {
+            int index = (start + i) % size;
+            if (segments.get(index).tryLock(0, leaseTime, unit)) {
+                return index;
+            }
+        }
+        return segments.get(start).tryLock(waitTime, leaseTime, unit) ? start : -1;
+    }
+
+    /**
+     * 释放指定分段的锁
+     *
+     * @param index
+     */
+    public void unlock(int index) {
+        segments.get(index).unlock();
+    }
+
+    /**
+     * 获取覆盖全部分段的联锁，用于对整个资源的操作，例如汇总或重新分配各分段
+     *
+     * @return
+     */
+    public RLock getAllLock() {
+        return redissonClient.getMultiLock(segments.toArray(new RLock[0]));
+    }
+
+}
@@ -0,0 +1,142 @@
+package com.kimzing.redis.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * redis命令的执行指标.
+ * <p>
+ * 通过Micrometer按命令与key模式记录执行耗时(kfc.redis.command)，以及序列化后的key与value大小
+ * (kfc.redis.command.key.size、kfc.redis.command.value.size)。key经过KeyPatternNormalizer归一化后作为标签，
+ * 模式数量超过上限后统一记为other。管道与事务中的命令只记录大小，整体耗时记录在closePipeline/exec上
+ * </p>
+ *
+ * @author KimZing - kimzing@163.com
+ * @since 2026/10/18 07:02
+ */
+public class CommandMetrics {
+
+    public static final String OTHER_PATTERN = "other";
+
+    public static final String NONE_PATTERN = "none";
+
+    private final MeterRegistry meterRegistry;
+
+    private final KeyPatternNormalizer keyPatternNormalizer;
+
+    private final int maxPatterns;
+
+    private final boolean percentileHistogram;
+
+    private final Map<String, Boolean> patterns = new ConcurrentHashMap<>();
+
+    private final Map<String, Meters> meters = new ConcurrentHashMap<>();
+
+    /**
+     * @param meterRegistry
+     * @param keyPatternNormalizer
+     * @param maxPatterns          最多记录的key模式个数
+     * @param percentileHistogram  是否发布直方图，用于服务端计算分位数
+     */
+    public CommandMetrics(MeterRegistry meterRegistry, KeyPatternNormalizer keyPatternNormalizer,
+                          int maxPatterns, boolean percentileHistogram) {
+        this.meterRegistry = meterRegistry;
+        this.keyPatternNormalizer = keyPatternNormalizer;
+        this.maxPatterns = maxPatterns;
+        this.percentileHistogram = percentileHistogram;
+    }
+
+    /**
+     * 包装为记录指标的连接
+     *
+     * @param connection
+     * @return
+     */
+    public RedisConnection wrap(RedisConnection connection) {
+        return (RedisConnection) wrap(connection, ClassUtils.getAllInterfaces(connection));
+    }
+
+    private Object wrap(RedisConnection connection, Class<?>[] interfaces) {
+        return wrap(connection, interfaces, new InstrumentedConnectionHandler(connection, this));
+    }
+
+    Object wrap(Object target, Class<?>[] interfaces, InvocationHandler handler) {
+        return Proxy.newProxyInstance(target.getClass().getClassLoader(), interfaces, handler);
+    }
+
+    void record(String command, byte[] key, long nanos, long valueSize, boolean timed) {
+        Meters commandMeters = meters(command, pattern(key));
+        if (timed) {
+            commandMeters.timer.record(nanos, TimeUnit.NANOSECONDS);
+        }
+        if (key != null) {
+            commandMeters.keySize.record(key.length);
+        }
+        if (valueSize > 0) {
+            commandMeters.valueSize.record(valueSize);
+        }
+    }
+
+    private String pattern(byte[] key) {
+        if (key == null) {
+            return NONE_PATTERN;
+        }
+        String pattern = keyPatternNormalizer.normalize(new String(key, StandardCharsets.UTF_8));
+        if (patterns.containsKey(pattern)) {
+            return pattern;
+        }
+        if (patterns.size() >= maxPatterns) {
+            return OTHER_PATTERN;
+        }
+        patterns.put(pattern, Boolean.TRUE);
+        return pattern;
+    }
+
+    private Meters meters(String command, String pattern) {
+        return meters.computeIfAbsent(command + '|' + pattern, k -> new Meters(command, pattern));
+    }
+
+    private final class Meters {
+
+        private final Timer timer;
+
+        private final DistributionSummary keySize;
+
+        private final DistributionSummary valueSize;
+
+        private Meters(String command, String pattern) {
+            this.timer = Timer.builder("kfc.redis.command")
+                    .description("Redis command latency")
+                    .tag("command", command)
+                    .tag("pattern", pattern)
+                    .publishPercentileHistogram(percentileHistogram)
+                    .register(meterRegistry);
+            this.keySize = DistributionSummary.builder("kfc.redis.command.key.size")
+                    .description("Serialized key size")
+                    .baseUnit("bytes")
+                    .tag("command", command)
+                    .tag("pattern", pattern)
+                    .publishPercentileHistogram(percentileHistogram)
+                    .register(meterRegistry);
+            this.valueSize = DistributionSummary.builder("kfc.redis.command.value.size")
+                    .description("Serialized value size written or read")
+                    .baseUnit("bytes")
+                    .tag("command", command)
+                    .tag("pattern", pattern)
+                    .publishPercentileHistogram(percentileHistogram)
+                    .register(meterRegistry);
+        }
+
+    }
+
+}
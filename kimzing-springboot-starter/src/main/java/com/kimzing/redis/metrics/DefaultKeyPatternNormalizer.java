@@ -0,0 +1,80 @@
+package com.kimzing.redis.metrics;
+
+/**
+ * 默认的key归一化.
+ * <p>
+ * 以分隔符切分key，将纯数字、UUID以及16位以上的十六进制片段替换为{id}，不使用正则以降低每条命令的开销
+ * </p>
+ *
+ * @author KimZing - kimzing@163.com
+ * @since 2026/10/18 07:02
+ */
+public class DefaultKeyPatternNormalizer implements KeyPatternNormalizer {
+
+    public static final String ID_PLACEHOLDER = "{id}";
+
+    private final char separator;
+
+    public DefaultKeyPatternNormalizer() {
+        this(':');
+    }
+
+    public DefaultKeyPatternNormalizer(char separator) {
+        this.separator = separator;
+    }
+
+    @Override
+    public String normalize(String key) {
+        StringBuilder builder = null;
+        int start = 0;
+        int length = key.length();
+        for (int i = 0; i <= length; i++) {
+            if (i < length && key.charAt(i) != separator) {
+                continue;
+            }
+            if (isId(key, start, i)) {
+                if (builder == null) {
+                    builder = new StringBuilder(length).append(key, 0, start);
+                }
+                builder.append(ID_PLACEHOLDER);
+            } else if (builder != null) {
+                builder.append(key, start, i);
+            }
+            if (builder != null && i < length) {
+                builder.append(separator);
+            }
+            start = i + 1;
+        }
+        return builder == null ? key : builder.toString();
+    }
+
+    private boolean isId(String key, int start, int end) {
+        int length = end - start;
+        if (length == 0) {
+            return false;
+        }
+        boolean digits = true;
+        boolean hex = true;
+        int dashes = 0;
+        for (int i = start; i < end; i++) {
+            char c = key.charAt(i);
+            if (c == '-') {
+                dashes++;
+                digits = false;
+            } else if (c < '0' || c > '9') {
+                digits = false;
+                if ((c < 'a' || c > 'f') && (c < 'A' || c > 'F')) {
+                    hex = false;
+                }
+            }
+        }
+        if (digits) {
+            return true;
+        }
+        if (!hex) {
+            return false;
+        }
+        return (dashes == 4 && length == 36) || (dashes == 0 && length >= 16);
+    }
+
+}
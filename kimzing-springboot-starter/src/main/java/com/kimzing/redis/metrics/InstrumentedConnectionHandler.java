@@ -0,0 +1,144 @@
+package com.kimzing.redis.metrics;
+
+import org.springframework.data.redis.connection.RedisConnection;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * 记录命令指标的连接代理处理器，仅对以key为首个参数的命令计时，其余方法直接委托.
+ * <p>
+ * stringCommands()等返回的命令对象同样被代理
+ * </p>
+ *
+ * @author KimZing - kimzing@163.com
+ * @since 2026/10/18 07:02
+ */
+class InstrumentedConnectionHandler implements InvocationHandler {
+
+    private static final String COMMANDS_PACKAGE = "org.springframework.data.redis.connection";
+
+    private final Object target;
+
+    private final RedisConnection connection;
+
+    private final CommandMetrics commandMetrics;
+
+    InstrumentedConnectionHandler(Object target, CommandMetrics commandMetrics) {
+        this(target, (RedisConnection) target, commandMetrics);
+    }
+
+    private InstrumentedConnectionHandler(Object target, RedisConnection connection, CommandMetrics commandMetrics) {
+        this.target = target;
+        this.connection = connection;
+        this.commandMetrics = commandMetrics;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        String command = method.getName();
+        if (isCommandsAccessor(method)) {
+            Object commands = delegate(method, args);
+            return commands == null ? null : commandMetrics.wrap(commands, new Class[]{method.getReturnType()},
+                    new InstrumentedConnectionHandler(commands, connection, commandMetrics));
+        }
+        if ("closePipeline".equals(command) || "exec".equals(command)) {
+            long start = System.nanoTime();
+            Object result = delegate(method, args);
+            commandMetrics.record(command, null, System.nanoTime() - start, 0, true);
+            return result;
+        }
+        byte[] key = firstKey(args);
+        if (key == null) {
+            return delegate(method, args);
+        }
+        boolean batched = connection.isPipelined() || connection.isQueueing();
+        long start = System.nanoTime();
+        Object result = delegate(method, args);
+        long nanos = System.nanoTime() - start;
+        long valueSize = argumentSize(args) + sizeOf(result);
+        commandMetrics.record(command, key, nanos, valueSize, !batched);
+        return result;
+    }
+
+    private boolean isCommandsAccessor(Method method) {
+        Class<?> returnType = method.getReturnType();
+        return method.getParameterCount() == 0 && returnType.isInterface()
+                && method.getName().endsWith("Commands")
+                && COMMANDS_PACKAGE.equals(returnType.getPackage().getName());
+    }
+
+    private Object delegate(Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private static byte[] firstKey(Object[] args) {
+        if (args == null || args.length == 0) {
+            return null;
+        }
+        Object first = args[0];
+        if (first instanceof byte[]) {
+            return (byte[]) first;
+        }
+        if (first instanceof byte[][] && ((byte[][]) first).length > 0) {
+            return ((byte[][]) first)[0];
+        }
+        if (first instanceof Map && !((Map<?, ?>) first).isEmpty()) {
+            Object key = ((Map<?, ?>) first).keySet().iterator().next();
+            return key instanceof byte[] ? (byte[]) key : null;
+        }
+        return null;
+    }
+
+    /**
+     * 首个key之后的参数大小，即写入的value
+     */
+    private static long argumentSize(Object[] args) {
+        long size = 0;
+        for (int i = 1; i < args.length; i++) {
+            size += sizeOf(args[i]);
+        }
+        if (args[0] instanceof Map) {
+            for (Object value : ((Map<?, ?>) args[0]).values()) {
+                size += sizeOf(value);
+            }
+        }
+        return size;
+    }
+
+    private static long sizeOf(Object value) {
+        if (value instanceof byte[]) {
+            return ((byte[]) value).length;
+        }
+        long size = 0;
+        if (value instanceof byte[][]) {
+            for (byte[] element : (byte[][]) value) {
+                size += element == null ? 0 : element.length;
+            }
+        } else if (value instanceof Collection) {
+            for (Object element : (Collection<?>) value) {
+                if (element instanceof byte[]) {
+                    size += ((byte[]) element).length;
+                }
+            }
+        } else if (value instanceof Map) {
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                if (entry.getKey() instanceof byte[]) {
+                    size += ((byte[]) entry.getKey()).length;
+                }
+                if (entry.getValue() instanceof byte[]) {
+                    size += ((byte[]) entry.getValue()).length;
+                }
+            }
+        }
+        return size;
+    }
+
+}
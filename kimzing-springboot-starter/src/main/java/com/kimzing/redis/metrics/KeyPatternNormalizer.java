@@ -0,0 +1,20 @@
+package com.kimzing.redis.metrics;
+
+/**
+ * key归一化，将key中的ID等可变部分折叠，作为指标标签使用，避免标签基数过大.
+ *
+ * @author KimZing - kimzing@163.com
+ * @since 2026/10/18 07:02
+ */
+@FunctionalInterface
+public interface KeyPatternNormalizer {
+
+    /**
+     * 归一化key
+     *
+     * @param key 完整的key，包含服务前缀
+     * @return 例如: user:123:profile -> user:{id}:profile
+     */
+    String normalize(String key);
+
+}
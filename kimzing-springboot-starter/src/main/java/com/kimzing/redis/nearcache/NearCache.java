@@ -0,0 +1,236 @@
+package com.kimzing.redis.nearcache;
+
+import org.springframework.util.Assert;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 进程内的近端缓存(L1).
+ * <p>
+ * 缓存已反序列化的对象，按容量(LRU)与写入后的存活时间淘汰，分段加锁以降低并发竞争。
+ * 缓存的对象会被多个调用方共享，请勿修改取出的对象
+ * </p>
+ *
+ * @author KimZing - kimzing@163.com
+ * @since 2026/10/18 06:46
+ */
+public class NearCache {
+
+    private static final int SEGMENT_COUNT = 16;
+
+    /**
+     * 每个分段至少保留的失效记录数
+     */
+    private static final int MIN_INVALIDATIONS_PER_SEGMENT = 64;
+
+    private final Segment[] segments;
+
+    private final long ttlNanos;
+
+    /**
+     * 失效序号，每次失效时递增。各分段按key记录最近一次失效的序号，用于丢弃读取期间该key已失效的写入
+     */
+    private final AtomicLong invalidationSequence = new AtomicLong();
+
+    private final LongAdder hitCount = new LongAdder();
+
+    private final LongAdder missCount = new LongAdder();
+
+    private final LongAdder evictionCount = new LongAdder();
+
+    public NearCache(int maximumSize, Duration ttl) {
+        Assert.isTrue(maximumSize > 0, "MaximumSize must be greater than 0!");
+        Assert.notNull(ttl, "Ttl must not be null!");
+        this.ttlNanos = ttl.toNanos();
+        int segmentSize = Math.max(1, (maximumSize + SEGMENT_COUNT - 1) / SEGMENT_COUNT);
+        this.segments = new Segment[SEGMENT_COUNT];
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            segments[i] = new Segment(segmentSize);
+        }
+    }
+
+    /**
+     * 获取缓存的对象，不存在、已过期或类型不匹配时返回null
+     *
+     * @param key
+     * @param clazz
+     * @param <V>
+     * @return
+     */
+    public <V> V get(String key, Class<V> clazz) {
+        Object value = segmentFor(key).get(key);
+        if (clazz.isInstance(value)) {
+            hitCount.increment();
+            return clazz.cast(value);
+        }
+        missCount.increment();
+        return null;
+    }
+
+    /**
+     * 获取当前的失效序号，需在读取redis之前调用，并在写入缓存时传入
+     *
+     * @return
+     */
+    public long stamp() {
+        return invalidationSequence.get();
+    }
+
+    /**
+     * 写入缓存，若自stamp之后该key发生过失效则放弃写入，避免缓存旧值
+     *
+     * @param key
+     * @param value
+     * @param stamp
+     */
+    public void put(String key, Object value, long stamp) {
+        if (value == null) {
+            return;
+        }
+        segmentFor(key).put(key, value, stamp);
+    }
+
+    /**
+     * 使指定key失效
+     *
+     * @param key
+     */
+    public void invalidate(String key) {
+        segmentFor(key).invalidate(key, invalidationSequence.incrementAndGet());
+    }
+
+    /**
+     * 清空缓存
+     */
+    public void invalidateAll() {
+        long sequence = invalidationSequence.incrementAndGet();
+        for (Segment segment : segments) {
+            segment.clear(sequence);
+        }
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    private Segment segmentFor(String key) {
+        int hash = key.hashCode();
+        hash ^= (hash >>> 16);
+        return segments[hash & (SEGMENT_COUNT - 1)];
+    }
+
+    private static final class Entry {
+
+        private final Object value;
+
+        private final long expireAt;
+
+        private Entry(Object value, long expireAt) {
+            this.value = value;
+            this.expireAt = expireAt;
+        }
+
+    }
+
+    private final class Segment {
+
+        private final LinkedHashMap<String, Entry> entries;
+
+        /**
+         * key -> 最近一次失效的序号，按失效先后排列
+         */
+        private final LinkedHashMap<String, Long> invalidations = new LinkedHashMap<>();
+
+        private final int maximumInvalidations;
+
+        /**
+         * 已淘汰的失效记录中最大的序号，早于该序号的写入一律放弃
+         */
+        private long invalidationFloor;
+
+        private Segment(int maximumSize) {
+            this.maximumInvalidations = Math.max(maximumSize, MIN_INVALIDATIONS_PER_SEGMENT);
+            this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                    if (size() > maximumSize) {
+                        evictionCount.increment();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+
+        private synchronized Object get(String key) {
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (System.nanoTime() - entry.expireAt >= 0) {
+                entries.remove(key);
+                evictionCount.increment();
+                return null;
+            }
+            return entry.value;
+        }
+
+        private synchronized void put(String key, Object value, long stamp) {
+            // 在锁内校验失效序号，保证与invalidate的先后关系，只有该key自stamp之后失效过才放弃写入
+            if (stamp < invalidationFloor) {
+                return;
+            }
+            Long invalidatedAt = invalidations.get(key);
+            if (invalidatedAt != null && invalidatedAt > stamp) {
+                return;
+            }
+            entries.put(key, new Entry(value, System.nanoTime() + ttlNanos));
+        }
+
+        private synchronized void invalidate(String key, long sequence) {
+            entries.remove(key);
+            // 先移除再写入，使记录按最近失效的顺序排列
+            invalidations.remove(key);
+            invalidations.put(key, sequence);
+            if (invalidations.size() > maximumInvalidations) {
+                // 淘汰最早的失效记录，并将其序号计入下限，保证不会因此接受旧值
+                Iterator<Map.Entry<String, Long>> iterator = invalidations.entrySet().iterator();
+                invalidationFloor = Math.max(invalidationFloor, iterator.next().getValue());
+                iterator.remove();
+            }
+        }
+
+        private synchronized void clear(long sequence) {
+            entries.clear();
+            invalidations.clear();
+            invalidationFloor = sequence;
+        }
+
+        private synchronized int size() {
+            return entries.size();
+        }
+
+    }
+
+}
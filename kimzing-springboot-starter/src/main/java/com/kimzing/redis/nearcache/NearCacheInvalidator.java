@@ -0,0 +1,138 @@
+package com.kimzing.redis.nearcache;
+
+import com.kimzing.utils.log.LogUtil;
+import org.redisson.api.RPatternTopic;
+import org.redisson.api.RedissonClient;
+import org.redisson.api.listener.PatternMessageListener;
+import org.redisson.api.listener.PatternStatusListener;
+import org.redisson.client.codec.StringCodec;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 基于Redis键空间通知的近端缓存失效处理.
+ * <p>
+ * 通过RedissonClient订阅__keyspace@*__:{prefix}:*，任意节点对key的写入、删除、过期都会使本地缓存失效。
+ * 需在redis服务端开启键空间通知，例如: notify-keyspace-events Kg$xe。
+ * 同一订阅连接上的通知按写入顺序到达，写入一个栅栏key并等待其通知，即可确认此前写入产生的通知均已处理
+ * </p>
+ *
+ * @author KimZing - kimzing@163.com
+ * @since 2026/10/18 06:46
+ */
+public class NearCacheInvalidator {
+
+    private static final String KEYSPACE_CHANNEL_PREFIX = "__keyspace@*__:";
+
+    private static final String KEYSPACE_CHANNEL_SEPARATOR = "__:";
+
+    private static final String FENCE_KEY_PREFIX = "__kfc:near-cache:fence:";
+
+    private static final long FENCE_TTL_SECONDS = 60;
+
+    private final RedissonClient redissonClient;
+
+    private final NearCache nearCache;
+
+    private final String prefix;
+
+    private RPatternTopic topic;
+
+    /**
+     * 等待中的栅栏key -> 收到其通知时完成
+     */
+    private final Map<String, CompletableFuture<Void>> fences = new ConcurrentHashMap<>();
+
+    public NearCacheInvalidator(RedissonClient redissonClient, NearCache nearCache, String prefix) {
+        this.redissonClient = redissonClient;
+        this.nearCache = nearCache;
+        this.prefix = prefix;
+    }
+
+    /**
+     * 开始订阅键空间通知
+     */
+    public void start() {
+        String pattern = prefix == null ? KEYSPACE_CHANNEL_PREFIX + "*" : KEYSPACE_CHANNEL_PREFIX + prefix + ":*";
+        topic = redissonClient.getPatternTopic(pattern, StringCodec.INSTANCE);
+        topic.addListener(String.class, (PatternMessageListener<String>) (p, channel, event) -> invalidate(channel));
+        topic.addListener(new PatternStatusListener() {
+            @Override
+            public void onPSubscribe(String pattern) {
+                // 订阅(包括断线重连)期间可能丢失通知，直接清空本地缓存
+                nearCache.invalidateAll();
+            }
+
+            @Override
+            public void onPUnsubscribe(String pattern) {
+                nearCache.invalidateAll();
+            }
+        });
+        LogUtil.info("近端缓存失效订阅已开启: [{}]", pattern);
+    }
+
+    /**
+     * 取消订阅
+     */
+    public void stop() {
+        if (topic != null) {
+            topic.removeAllListeners();
+        }
+    }
+
+    /**
+     * 写入栅栏key并等待其通知，返回时调用前写入redis产生的通知均已处理完毕
+     *
+     * @param timeout 最长等待时间
+     * @return 超时或未开始订阅时返回false
+     */
+    public boolean awaitNotifications(Duration timeout) {
+        if (topic == null) {
+            return false;
+        }
+        String fence = FENCE_KEY_PREFIX + UUID.randomUUID();
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        fences.put(fence, future);
+        try {
+            String name = prefix == null ? fence : prefix + ":" + fence;
+            redissonClient.getBucket(name, StringCodec.INSTANCE).set("1", FENCE_TTL_SECONDS, TimeUnit.SECONDS);
+            future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            return true;
+        } catch (TimeoutException | ExecutionException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            fences.remove(fence);
+        }
+    }
+
+    private void invalidate(CharSequence channel) {
+        String channelName = channel.toString();
+        int index = channelName.indexOf(KEYSPACE_CHANNEL_SEPARATOR);
+        if (index < 0) {
+            return;
+        }
+        String key = channelName.substring(index + KEYSPACE_CHANNEL_SEPARATOR.length());
+        if (prefix != null) {
+            key = key.substring(prefix.length() + 1);
+        }
+        if (key.startsWith(FENCE_KEY_PREFIX)) {
+            CompletableFuture<Void> fence = fences.get(key);
+            if (fence != null) {
+                fence.complete(null);
+            }
+            return;
+        }
+        nearCache.invalidate(key);
+    }
+
+}
@@ -0,0 +1,203 @@
+package com.kimzing.redis.stream;
+
+import com.kimzing.utils.log.LogUtil;
+import org.springframework.util.Assert;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * 队列消费容器.
+ * <p>
+ * 启动固定数量的消费线程，每个线程作为消费组内独立的消费者阻塞读取并批量处理消息，处理成功后确认；
+ * 每隔claimInterval认领一次空闲超过claimIdle的pending消息，接管失败或宕机消费者的消息
+ * </p>
+ * <pre>
+ * StreamConsumerContainer&lt;Order&gt; container = new StreamConsumerContainer&lt;&gt;(
+ *         kfcRedisTemplate.getStreamQueue("order", "order-service", Order.class), "node-1", messages -&gt; {...});
+ * container.setThreads(4);
+ * container.start();
+ * </pre>
+ *
+ * @author KimZing - kimzing@163.com
+ * @since 2026/10/18 06:59
+ */
+public class StreamConsumerContainer<V> {
+
+    private final StreamQueue<V> queue;
+
+    private final String consumerName;
+
+    private final StreamMessageHandler<V> handler;
+
+    /**
+     * 消费线程数
+     */
+    private int threads = 1;
+
+    /**
+     * 每次最多读取的消息数
+     */
+    private int batchSize = 10;
+
+    /**
+     * 没有消息时的阻塞时间
+     */
+    private Duration block = Duration.ofSeconds(2);
+
+    /**
+     * pending消息空闲超过该时间后可被认领
+     */
+    private Duration claimIdle = Duration.ofMinutes(1);
+
+    /**
+     * 认领pending消息的间隔
+     */
+    private Duration claimInterval = Duration.ofSeconds(30);
+
+    /**
+     * 最大投递次数，超过后丢弃，小于等于0时不限制
+     */
+    private long maxDeliveries = 16;
+
+    private volatile boolean running;
+
+    private ExecutorService executor;
+
+    /**
+     * @param queue        队列
+     * @param consumerName 消费者名称前缀，需在消费组内唯一，各线程以"-序号"区分
+     * @param handler      消息处理器
+     */
+    public StreamConsumerContainer(StreamQueue<V> queue, String consumerName, StreamMessageHandler<V> handler) {
+        this.queue = queue;
+        this.consumerName = consumerName;
+        this.handler = handler;
+    }
+
+    /**
+     * 创建消费组并启动消费线程
+     */
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        queue.createGroup();
+        running = true;
+        AtomicInteger index = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "kfc-stream-" + queue.getGroup() + "-" + index.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 1; i <= threads; i++) {
+            String consumer = consumerName + "-" + i;
+            executor.execute(() -> consume(consumer));
+        }
+        LogUtil.info("队列消费已启动, group:[{}], consumer:[{}], threads:[{}]", queue.getGroup(), consumerName, threads);
+    }
+
+    /**
+     * 停止消费，等待正在处理的消息完成
+     */
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(block.toMillis() + 10000, TimeUnit.MILLISECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void consume(String consumer) {
+        // 启动后立即认领一次，接管宕机消费者遗留的消息
+        long nextClaim = System.nanoTime();
+        while (running) {
+            try {
+                if (System.nanoTime() - nextClaim >= 0) {
+                    nextClaim = System.nanoTime() + claimInterval.toNanos();
+                    List<StreamMessage<V>> claimed = queue.claim(consumer, claimIdle, batchSize, maxDeliveries);
+                    if (!claimed.isEmpty()) {
+                        process(claimed);
+                        continue;
+                    }
+                }
+                List<StreamMessage<V>> messages = queue.read(consumer, batchSize, block);
+                if (!messages.isEmpty()) {
+                    process(messages);
+                }
+            } catch (Exception e) {
+                if (!running) {
+                    return;
+                }
+                LogUtil.error("队列消费异常, group:[{}], consumer:[{}], error:[{}]", queue.getGroup(), consumer, e.getMessage());
+                sleepQuietly();
+            }
+        }
+    }
+
+    private void process(List<StreamMessage<V>> messages) {
+        try {
+            handler.handle(messages);
+        } catch (Exception e) {
+            LogUtil.error("队列消息处理失败，等待重新认领, group:[{}], size:[{}], error:[{}]",
+                    queue.getGroup(), messages.size(), e.getMessage());
+            return;
+        }
+        queue.ack(messages.stream().map(StreamMessage::getId).collect(Collectors.toList()));
+    }
+
+    private void sleepQuietly() {
+        try {
+            Thread.sleep(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public void setThreads(int threads) {
+        Assert.isTrue(threads > 0, "Threads must be greater than 0!");
+        this.threads = threads;
+    }
+
+    public void setBatchSize(int batchSize) {
+        Assert.isTrue(batchSize > 0, "BatchSize must be greater than 0!");
+        this.batchSize = batchSize;
+    }
+
+    public void setBlock(Duration block) {
+        Assert.notNull(block, "Block must not be null!");
+        this.block = block;
+    }
+
+    public void setClaimIdle(Duration claimIdle) {
+        Assert.notNull(claimIdle, "ClaimIdle must not be null!");
+        this.claimIdle = claimIdle;
+    }
+
+    public void setClaimInterval(Duration claimInterval) {
+        Assert.notNull(claimInterval, "ClaimInterval must not be null!");
+        this.claimInterval = claimInterval;
+    }
+
+    public void setMaxDeliveries(long maxDeliveries) {
+        this.maxDeliveries = maxDeliveries;
+    }
+
+}
@@ -0,0 +1,26 @@
+package com.kimzing.redis.stream;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * 队列消息.
+ *
+ * @author KimZing - kimzing@163.com
+ * @since 2026/10/18 06:59
+ */
+@Data
+@AllArgsConstructor
+public class StreamMessage<V> {
+
+    /**
+     * 消息ID，确认消息时使用
+     */
+    private String id;
+
+    /**
+     * 消息内容
+     */
+    private V payload;
+
+}
@@ -0,0 +1,25 @@
+package com.kimzing.redis.stream;
+
+import java.util.List;
+
+/**
+ * 队列消息处理器.
+ * <p>
+ * 正常返回后整批消息被确认；抛出异常时整批消息保持未确认状态，超过空闲时间后会被重新认领处理
+ * </p>
+ *
+ * @author KimZing - kimzing@163.com
+ * @since 2026/10/18 06:59
+ */
+@FunctionalInterface
+public interface StreamMessageHandler<V> {
+
+    /**
+     * 处理一批消息
+     *
+     * @param messages
+     * @throws Exception
+     */
+    void handle(List<StreamMessage<V>> messages) throws Exception;
+
+}
@@ -0,0 +1,255 @@
+package com.kimzing.redis.stream;
+
+import com.kimzing.redis.codec.KFCRedisCodec;
+import com.kimzing.utils.log.LogUtil;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.RedisStreamCommands.XAddOptions;
+import org.springframework.data.redis.connection.RedisStreamCommands.XClaimOptions;
+import org.springframework.data.redis.connection.stream.ByteRecord;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 基于Redis Stream的工作队列.
+ * <p>
+ * 消费者通过XREADGROUP阻塞读取，空闲时不占用CPU与redis请求；消息在确认前保存在pending列表中，
+ * 消费者宕机后可由其他消费者通过XCLAIM重新认领，消息内容使用KFCRedisTemplate的编解码器
+ * </p>
+ *
+ * @author KimZing - kimzing@163.com
+ * @since 2026/10/18 06:59
+ */
+public class StreamQueue<V> {
+
+    private static final byte[] PAYLOAD_FIELD = "payload".getBytes(StandardCharsets.UTF_8);
+
+    private final RedisTemplate<?, ?> redisTemplate;
+
+    private final KFCRedisCodec codec;
+
+    private final byte[] rawKey;
+
+    private final String group;
+
+    private final Class<V> clazz;
+
+    public StreamQueue(RedisTemplate<?, ?> redisTemplate, KFCRedisCodec codec, byte[] rawKey, String group, Class<V> clazz) {
+        this.redisTemplate = redisTemplate;
+        this.codec = codec;
+        this.rawKey = rawKey;
+        this.group = group;
+        this.clazz = clazz;
+    }
+
+    /**
+     * 创建消费组，stream不存在时自动创建，消费组已存在时忽略
+     * <p>
+     * 新建的消费组从stream起始位置开始消费，不会遗漏创建前写入的消息
+     * </p>
+     */
+    public void createGroup() {
+        try {
+            redisTemplate.execute((RedisCallback<String>) connection ->
+                    connection.streamCommands().xGroupCreate(rawKey, group, ReadOffset.from("0"), true));
+        } catch (DataAccessException e) {
+            String message = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            if (message == null || !message.contains("BUSYGROUP")) {
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * 写入消息
+     *
+     * @param payload
+     * @return 消息ID
+     */
+    public String add(V payload) {
+        return add(payload, XAddOptions.none());
+    }
+
+    /**
+     * 写入消息，并将stream长度限制在maxLen以内
+     *
+     * @param payload
+     * @param maxLen
+     * @return 消息ID
+     */
+    public String add(V payload, long maxLen) {
+        return add(payload, XAddOptions.maxlen(maxLen));
+    }
+
+    private String add(V payload, XAddOptions options) {
+        MapRecord<byte[], byte[], byte[]> record = MapRecord.create(rawKey,
+                Collections.singletonMap(PAYLOAD_FIELD, codec.serialize(payload)));
+        RecordId recordId = redisTemplate.execute((RedisCallback<RecordId>) connection ->
+                connection.streamCommands().xAdd(record, options));
+        return recordId == null ? null : recordId.getValue();
+    }
+
+    /**
+     * 读取新消息，没有消息时最多阻塞block时间
+     *
+     * @param consumer 消费者名称，同一消费组内唯一
+     * @param count    最多读取的消息数
+     * @param block    阻塞时间，为null时不阻塞
+     * @return
+     */
+    public List<StreamMessage<V>> read(String consumer, int count, Duration block) {
+        StreamReadOptions options = StreamReadOptions.empty().count(count);
+        if (block != null) {
+            options = options.block(block);
+        }
+        StreamReadOptions readOptions = options;
+        List<ByteRecord> records = redisTemplate.execute((RedisCallback<List<ByteRecord>>) connection ->
+                connection.streamCommands().xReadGroup(Consumer.from(group, consumer), readOptions,
+                        StreamOffset.create(rawKey, ReadOffset.lastConsumed())));
+        return toMessages(records);
+    }
+
+    /**
+     * 确认消息，确认后从pending列表移除
+     *
+     * @param ids
+     * @return 确认成功的数量
+     */
+    public long ack(Collection<String> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return 0;
+        }
+        String[] idArray = ids.toArray(new String[0]);
+        Long acked = redisTemplate.execute((RedisCallback<Long>) connection ->
+                connection.streamCommands().xAck(rawKey, group, idArray));
+        return acked == null ? 0 : acked;
+    }
+
+    /**
+     * 确认消息
+     *
+     * @param ids
+     * @return 确认成功的数量
+     */
+    public long ack(String... ids) {
+        return ack(Arrays.asList(ids));
+    }
+
+    /**
+     * 查询pending列表中最早的count条消息
+     *
+     * @param count
+     * @return
+     */
+    public PendingMessages pending(int count) {
+        return pending(Range.unbounded(), count);
+    }
+
+    private PendingMessages pending(Range<String> range, long count) {
+        return redisTemplate.execute((RedisCallback<PendingMessages>) connection ->
+                connection.streamCommands().xPending(rawKey, group, range, count));
+    }
+
+    /**
+     * 认领空闲时间超过minIdle的pending消息，用于接管宕机消费者未确认的消息
+     * <p>
+     * 从最早的消息开始按ID分页遍历pending列表，直到认领到count条或遍历完毕，
+     * 因此排在前面的活跃消息不会挡住其后已超时的消息。
+     * 投递次数超过maxDeliveries的消息视为无法处理，直接确认丢弃，避免反复失败
+     * </p>
+     *
+     * @param consumer      认领后归属的消费者
+     * @param minIdle       最小空闲时间
+     * @param count         最多认领的消息数
+     * @param maxDeliveries 最大投递次数，小于等于0时不限制
+     * @return 认领到的消息
+     */
+    public List<StreamMessage<V>> claim(String consumer, Duration minIdle, int count, long maxDeliveries) {
+        List<String> claimIds = new ArrayList<>();
+        List<String> deadIds = new ArrayList<>();
+        String lastId = null;
+        while (claimIds.size() < count) {
+            // 范围包含上一页的最后一条，多取一条并跳过
+            PendingMessages pendingMessages = lastId == null ? pending(count)
+                    : pending(Range.rightUnbounded(Range.Bound.inclusive(lastId)), count + 1L);
+            if (pendingMessages == null || pendingMessages.isEmpty()) {
+                break;
+            }
+            int scanned = 0;
+            for (PendingMessage pendingMessage : pendingMessages) {
+                String id = pendingMessage.getIdAsString();
+                if (id.equals(lastId)) {
+                    continue;
+                }
+                scanned++;
+                if (claimIds.size() >= count || pendingMessage.getElapsedTimeSinceLastDelivery().compareTo(minIdle) < 0) {
+                    continue;
+                }
+                if (maxDeliveries > 0 && pendingMessage.getTotalDeliveryCount() >= maxDeliveries) {
+                    deadIds.add(id);
+                } else {
+                    claimIds.add(id);
+                }
+            }
+            if (scanned < count) {
+                break;
+            }
+            lastId = pendingMessages.get(pendingMessages.size() - 1).getIdAsString();
+        }
+        if (!deadIds.isEmpty()) {
+            ack(deadIds);
+            LogUtil.warn("消息超过最大投递次数已丢弃, group:[{}], ids:[{}]", group, deadIds);
+        }
+        if (claimIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        XClaimOptions options = XClaimOptions.minIdle(minIdle).ids(claimIds.toArray(new String[0]));
+        List<ByteRecord> records = redisTemplate.execute((RedisCallback<List<ByteRecord>>) connection ->
+                connection.streamCommands().xClaim(rawKey, group, consumer, options));
+        return toMessages(records);
+    }
+
+    public String getGroup() {
+        return group;
+    }
+
+    private List<StreamMessage<V>> toMessages(List<ByteRecord> records) {
+        if (records == null || records.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<StreamMessage<V>> messages = new ArrayList<>(records.size());
+        for (ByteRecord record : records) {
+            messages.add(new StreamMessage<>(record.getId().getValue(), decode(record.getValue())));
+        }
+        return messages;
+    }
+
+    private V decode(Map<byte[], byte[]> fields) {
+        for (Map.Entry<byte[], byte[]> field : fields.entrySet()) {
+            if (Arrays.equals(PAYLOAD_FIELD, field.getKey())) {
+                Object raw = codec.deserialize(field.getValue());
+                return raw == null ? null : codec.toBean(raw, clazz);
+            }
+        }
+        return null;
+    }
+
+}
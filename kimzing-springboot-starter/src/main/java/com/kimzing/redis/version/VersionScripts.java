@@ -0,0 +1,50 @@
+package com.kimzing.redis.version;
+
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+/**
+ * 版本化缓存使用的Lua脚本，值与版本号保存在同一个hash中，原子地读取、比较与写入.
+ *
+ * @author KimZing - kimzing@163.com
+ * @since 2026/10/18 07:04
+ */
+public final class VersionScripts {
+
+    public static final String VERSION_FIELD = "version";
+
+    public static final String VALUE_FIELD = "value";
+
+    private static final String WRITE =
+            "redis.call('HMSET', KEYS[1], 'version', version, 'value', ARGV[2])\n" +
+            "local ttl = tonumber(ARGV[3])\n" +
+            "if ttl > 0 then\n" +
+            "  redis.call('PEXPIRE', KEYS[1], ttl)\n" +
+            "else\n" +
+            "  redis.call('PERSIST', KEYS[1])\n" +
+            "end\n" +
+            "return version";
+
+    /**
+     * 比较并写入: KEYS[1]=key, ARGV[1]=期望的版本号(0表示不存在), ARGV[2]=值, ARGV[3]=过期毫秒数(小于等于0不过期)
+     * <p>
+     * 版本号一致时写入并返回新版本号，否则返回-1
+     * </p>
+     */
+    public static final RedisScript<Long> COMPARE_AND_SET = new DefaultRedisScript<>(
+            "local current = tonumber(redis.call('HGET', KEYS[1], 'version') or '0')\n" +
+            "if current ~= tonumber(ARGV[1]) then\n" +
+            "  return -1\n" +
+            "end\n" +
+            "local version = current + 1\n" + WRITE, Long.class);
+
+    /**
+     * 无条件写入并递增版本号: KEYS[1]=key, ARGV[1]=占位, ARGV[2]=值, ARGV[3]=过期毫秒数(小于等于0不过期)
+     */
+    public static final RedisScript<Long> SET = new DefaultRedisScript<>(
+            "local version = tonumber(redis.call('HGET', KEYS[1], 'version') or '0') + 1\n" + WRITE, Long.class);
+
+    private VersionScripts() {
+    }
+
+}
@@ -0,0 +1,26 @@
+package com.kimzing.redis.version;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * 带版本号的缓存值.
+ *
+ * @author KimZing - kimzing@163.com
+ * @since 2026/10/18 07:04
+ */
+@Data
+@AllArgsConstructor
+public class VersionedValue<V> {
+
+    /**
+     * 缓存值
+     */
+    private V value;
+
+    /**
+     * 版本号，每次写入递增，从1开始
+     */
+    private long version;
+
+}
@@ -0,0 +1,64 @@
+package com.kimzing.redis.warmup;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * 缓存预热扩展点.
+ * <p>
+ * 注册为Spring Bean即可，应用启动完成、就绪探针切换为可接收流量之前执行：
+ * 通过管道批量读取keys，未命中的key交由load加载并批量写回redis，开启近端缓存时同时写入近端缓存
+ * </p>
+ *
+ * @author KimZing - kimzing@163.com
+ * @since 2026/10/18 07:07
+ */
+public interface CacheWarmer {
+
+    /**
+     * 预热名称，用于日志与报告
+     *
+     * @return
+     */
+    default String getName() {
+        return getClass().getSimpleName();
+    }
+
+    /**
+     * 需要预热的key集合
+     *
+     * @return
+     */
+    Collection<String> keys();
+
+    /**
+     * 值的类型，用于写入近端缓存
+     *
+     * @return
+     */
+    default Class<?> valueType() {
+        return Object.class;
+    }
+
+    /**
+     * 加载redis中不存在的key，返回key与值，默认不加载
+     *
+     * @param missingKeys
+     * @return
+     */
+    default Map<String, ?> load(Collection<String> missingKeys) {
+        return Collections.emptyMap();
+    }
+
+    /**
+     * 加载的值写回redis时的过期时间，为null时不过期
+     *
+     * @return
+     */
+    default Duration ttl() {
+        return null;
+    }
+
+}
@@ -0,0 +1,58 @@
+package com.kimzing.redis.warmup;
+
+import lombok.Data;
+
+/**
+ * 缓存预热结果.
+ *
+ * @author KimZing - kimzing@163.com
+ * @since 2026/10/18 07:07
+ */
+@Data
+public class CacheWarmupReport {
+
+    /**
+     * 预热名称
+     */
+    private String name;
+
+    /**
+     * 声明的key个数
+     */
+    private int keyCount;
+
+    /**
+     * redis中已存在的key个数
+     */
+    private int hitCount;
+
+    /**
+     * 通过load加载并写回的key个数
+     */
+    private int loadedCount;
+
+    /**
+     * 耗时，单位毫秒
+     */
+    private long elapsedMillis;
+
+    /**
+     * 是否成功
+     */
+    private boolean success;
+
+    /**
+     * 失败原因
+     */
+    private String error;
+
+    /**
+     * 覆盖率，预热后可从缓存获取的key占比
+     *
+     * @return
+     */
+    public double getCoverage() {
+        return keyCount == 0 ? 1.0 : (double) (hitCount + loadedCount) / keyCount;
+    }
+
+}
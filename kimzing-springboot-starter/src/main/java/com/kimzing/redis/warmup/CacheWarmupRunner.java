@@ -0,0 +1,219 @@
+package com.kimzing.redis.warmup;
+
+import com.kimzing.redis.KFCRedisTemplate;
+import com.kimzing.redis.nearcache.NearCache;
+import com.kimzing.redis.nearcache.NearCacheInvalidator;
+import com.kimzing.utils.log.LogUtil;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.util.Assert;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 缓存预热执行器.
+ * <p>
+ * 作为ApplicationRunner在应用就绪事件之前执行，预热完成(或超时)后就绪探针才会切换为可接收流量。
+ * 各CacheWarmer在有限大小的线程池中并行执行，单个预热失败不影响启动。
+ * 回源写入redis的值会产生键空间通知，需等本批通知处理完毕后再写入近端缓存，否则会被自身的通知清除
+ * </p>
+ *
+ * @author KimZing - kimzing@163.com
+ * @since 2026/10/18 07:07
+ */
+public class CacheWarmupRunner implements ApplicationRunner, Ordered {
+
+    /**
+     * 等待键空间通知处理完毕的最长时间，超时后不写入近端缓存
+     */
+    private static final Duration NOTIFICATION_WAIT = Duration.ofSeconds(5);
+
+    private final KFCRedisTemplate kfcRedisTemplate;
+
+    private final List<CacheWarmer> cacheWarmers;
+
+    private final int concurrency;
+
+    private final Duration timeout;
+
+    private NearCacheInvalidator nearCacheInvalidator;
+
+    private volatile List<CacheWarmupReport> reports = Collections.emptyList();
+
+    /**
+     * @param kfcRedisTemplate
+     * @param cacheWarmers
+     * @param concurrency      最多同时执行的预热个数
+     * @param timeout          整体超时时间，超时后不再等待未完成的预热
+     */
+    public CacheWarmupRunner(KFCRedisTemplate kfcRedisTemplate, List<CacheWarmer> cacheWarmers,
+                             int concurrency, Duration timeout) {
+        Assert.isTrue(concurrency > 0, "Concurrency must be greater than 0!");
+        this.kfcRedisTemplate = kfcRedisTemplate;
+        this.cacheWarmers = cacheWarmers;
+        this.concurrency = concurrency;
+        this.timeout = timeout;
+    }
+
+    public void setNearCacheInvalidator(NearCacheInvalidator nearCacheInvalidator) {
+        this.nearCacheInvalidator = nearCacheInvalidator;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        warmUp();
+    }
+
+    /**
+     * 执行全部预热并返回结果
+     *
+     * @return
+     */
+    public List<CacheWarmupReport> warmUp() {
+        if (cacheWarmers.isEmpty()) {
+            return Collections.emptyList();
+        }
+        long start = System.nanoTime();
+        AtomicInteger index = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(concurrency, cacheWarmers.size()), runnable -> {
+            Thread thread = new Thread(runnable, "kfc-cache-warmup-" + index.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        Map<CacheWarmer, CompletableFuture<CacheWarmupReport>> futures = new LinkedHashMap<>();
+        for (CacheWarmer cacheWarmer : cacheWarmers) {
+            futures.put(cacheWarmer, CompletableFuture.supplyAsync(() -> warmUp(cacheWarmer), executor));
+        }
+        executor.shutdown();
+        try {
+            CompletableFuture.allOf(futures.values().toArray(new CompletableFuture[0]))
+                    .get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            LogUtil.warn("缓存预热超时，不再等待未完成的预热, timeout:[{}]", timeout);
+            executor.shutdownNow();
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            // 单个预热的异常已在warmUp中处理
+        }
+
+        List<CacheWarmupReport> results = new ArrayList<>(futures.size());
+        int keyCount = 0;
+        int cachedCount = 0;
+        for (Map.Entry<CacheWarmer, CompletableFuture<CacheWarmupReport>> entry : futures.entrySet()) {
+            CacheWarmupReport report = entry.getValue().getNow(null);
+            if (report == null) {
+                report = new CacheWarmupReport();
+                report.setName(entry.getKey().getName());
+                report.setError("timeout");
+            }
+            results.add(report);
+            keyCount += report.getKeyCount();
+            cachedCount += report.getHitCount() + report.getLoadedCount();
+        }
+        this.reports = Collections.unmodifiableList(results);
+        LogUtil.info("缓存预热完成, warmers:[{}], keys:[{}], coverage:[{}], elapsed:[{}ms]", results.size(), keyCount,
+                String.format("%.2f%%", keyCount == 0 ? 100.0 : cachedCount * 100.0 / keyCount),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return reports;
+    }
+
+    /**
+     * 最近一次预热的结果
+     *
+     * @return
+     */
+    public List<CacheWarmupReport> getReports() {
+        return reports;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    private CacheWarmupReport warmUp(CacheWarmer cacheWarmer) {
+        long start = System.nanoTime();
+        CacheWarmupReport report = new CacheWarmupReport();
+        report.setName(cacheWarmer.getName());
+        try {
+            List<String> keys = new ArrayList<>(cacheWarmer.keys());
+            report.setKeyCount(keys.size());
+            // 未声明值类型时无法还原为业务对象，不写入近端缓存
+            NearCache nearCache = cacheWarmer.valueType() == Object.class ? null : kfcRedisTemplate.getNearCache();
+            long stamp = nearCache == null ? 0 : nearCache.stamp();
+            List<?> values = kfcRedisTemplate.getAll(keys, cacheWarmer.valueType());
+            List<String> missingKeys = new ArrayList<>();
+            for (int i = 0; i < keys.size(); i++) {
+                Object value = values.get(i);
+                if (value == null) {
+                    missingKeys.add(keys.get(i));
+                } else if (nearCache != null) {
+                    nearCache.put(keys.get(i), value, stamp);
+                }
+            }
+            report.setHitCount(keys.size() - missingKeys.size());
+            report.setLoadedCount(load(cacheWarmer, missingKeys, nearCache));
+            report.setSuccess(true);
+        } catch (Exception e) {
+            report.setError(e.getMessage());
+            LogUtil.error("缓存预热失败, name:[{}], error:[{}]", cacheWarmer.getName(), e.getMessage());
+        }
+        report.setElapsedMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        LogUtil.info("缓存预热, name:[{}], keys:[{}], hit:[{}], loaded:[{}], elapsed:[{}ms]", report.getName(),
+                report.getKeyCount(), report.getHitCount(), report.getLoadedCount(), report.getElapsedMillis());
+        return report;
+    }
+
+    private int load(CacheWarmer cacheWarmer, Collection<String> missingKeys, NearCache nearCache) {
+        if (missingKeys.isEmpty()) {
+            return 0;
+        }
+        Map<String, ?> loaded = cacheWarmer.load(missingKeys);
+        if (loaded == null || loaded.isEmpty()) {
+            return 0;
+        }
+        Set<String> missing = new HashSet<>(missingKeys);
+        Map<String, Object> values = new LinkedHashMap<>(loaded.size() * 2);
+        loaded.forEach((key, value) -> {
+            if (value != null && missing.contains(key)) {
+                values.put(key, value);
+            }
+        });
+        kfcRedisTemplate.setAll(values, cacheWarmer.ttl());
+        if (nearCache != null) {
+            prime(cacheWarmer, nearCache, values);
+        }
+        return values.size();
+    }
+
+    /**
+     * 本批写入的通知处理完毕后再写入近端缓存，等待超时则跳过，由后续读取时写入
+     */
+    private void prime(CacheWarmer cacheWarmer, NearCache nearCache, Map<String, Object> values) {
+        if (nearCacheInvalidator != null && !nearCacheInvalidator.awaitNotifications(NOTIFICATION_WAIT)) {
+            LogUtil.warn("等待键空间通知超时，回源的值不写入近端缓存, name:[{}]", cacheWarmer.getName());
+            return;
+        }
+        long stamp = nearCache.stamp();
+        values.forEach((key, value) -> nearCache.put(key, value, stamp));
+    }
+
+}
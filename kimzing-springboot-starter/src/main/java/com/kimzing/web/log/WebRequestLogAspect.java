@@ -1,7 +1,7 @@
 package com.kimzing.web.log;
 
-import com.kimzing.log.LogIgnore;
-import com.kimzing.utils.date.DateUtil;
+import com.kimzing.log.LogTimeFormatter;
+import com.kimzing.log.MethodLogMetadata;
 import com.kimzing.utils.log.LogUtil;
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.ProceedingJoinPoint;
@@ -14,11 +14,7 @@ import org.springframework.web.context.request.RequestAttributes;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
-import java.lang.annotation.Annotation;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 日志切面基础类.
@@ -32,7 +28,7 @@ import java.util.Map;
 @Aspect
 public class WebRequestLogAspect {
 
-    private static final String timePattern = "yyyy-MM-dd HH:mm:ss:SSS";
+    private static final LogTimeFormatter timeFormatter = LogTimeFormatter.ofPattern(LogTimeFormatter.DEFAULT_PATTERN);
 
     @Pointcut("(@within(org.springframework.stereotype.Controller) || " +
             "@within(org.springframework.web.bind.annotation.RestController)) ")
@@ -49,14 +45,16 @@ public class WebRequestLogAspect {
     @Around("logPointCut()")
     public Object around(ProceedingJoinPoint joinPoint) throws Throwable {
         long startTimeOfMethod = System.currentTimeMillis();
+        long startNanos = System.nanoTime();
         Object result = joinPoint.proceed();
-        long endTimeOfMethod = System.currentTimeMillis();
+        long elapsedNanos = System.nanoTime() - startNanos;
 
         WebLogInfo.WebLogInfoBuilder builder = WebLogInfo.builder()
                 .result(result)
-                .startTime(DateUtil.formatUnixTimeToLocalDateTime(startTimeOfMethod, timePattern))
-                .endTime(DateUtil.formatUnixTimeToLocalDateTime(endTimeOfMethod, timePattern))
-                .elapsedTimeInMilliseconds(endTimeOfMethod - startTimeOfMethod);
+                .startTimestamp(startTimeOfMethod)
+                .endTimestamp(startTimeOfMethod + TimeUnit.NANOSECONDS.toMillis(elapsedNanos))
+                .elapsedTimeInNanos(elapsedNanos)
+                .timeFormatter(timeFormatter);
         setLogAttributes(joinPoint, builder);
 
         handleWebLogInfo(builder.build());
@@ -71,7 +69,7 @@ public class WebRequestLogAspect {
      */
     @AfterThrowing(pointcut = "logPointCut()", throwing = "throwable")
     public void throwExcetion(JoinPoint joinPoint, Throwable throwable) {
-        WebLogInfo.WebLogInfoBuilder builder = WebLogInfo.builder();
+        WebLogInfo.WebLogInfoBuilder builder = WebLogInfo.builder().timeFormatter(timeFormatter);
         setLogAttributes(joinPoint, builder);
         builder.throwable(throwable);
         handleWebLogInfo(builder.build());
@@ -85,11 +83,9 @@ public class WebRequestLogAspect {
     public void handleWebLogInfo(WebLogInfo logInfo) {
         // 为了防止日志打印出错，将内部错误捕获，防止影响主业务
         try {
-            StringBuilder sb = new StringBuilder();
-            sb.append("\n================  Request Start  ================\n");
-            sb.append(logInfo.toString());
-            sb.append("\n================  Request End  ================");
-            LogUtil.info(sb.toString());
+            // 交由日志框架在输出时才调用toString
+            LogUtil.info("\n================  Request Start  ================\n{}" +
+                    "\n================  Request End  ================", logInfo);
         } catch (Exception e) {
             e.printStackTrace();
             LogUtil.warn("WEB切面日志打印异常: [{}]", e.getMessage());
@@ -106,68 +102,25 @@ public class WebRequestLogAspect {
      * @param builder
      */
     private void setLogAttributes(JoinPoint joinPoint, WebLogInfo.WebLogInfoBuilder builder) {
-        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        MethodLogMetadata metadata = getMetadata(joinPoint);
         RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
         String url = (requestAttributes == null) ? null :
                 ((ServletRequestAttributes) requestAttributes).getRequest().getRequestURI();
-        builder.className(getClassName(joinPoint))
-                .methodName(getMethodName(signature))
+        builder.className(metadata.getClassName(joinPoint.getTarget().getClass()))
+                .methodName(metadata.getMethodName())
                 .url(url)
-                .params(getParams(joinPoint));
+                .params(metadata.getParams(joinPoint.getArgs()));
     }
 
     /**
-     * 获取方法参数
+     * 获取缓存的方法日志元数据
      *
      * @param joinPoint
      * @return
      */
-    private Map<String, Object> getParams(JoinPoint joinPoint) {
+    private MethodLogMetadata getMetadata(JoinPoint joinPoint) {
         MethodSignature signature = (MethodSignature) joinPoint.getSignature();
-        Annotation[][] parameterAnnotations = signature.getMethod().getParameterAnnotations();
-
-        // 获取有哪些位置的参数添加了@IgnoreLogParam注解
-        List<Integer> ignoreParamIndex = new ArrayList<>();
-        for (int i = 0; i < parameterAnnotations.length; i++) {
-            if (parameterAnnotations[i] != null && parameterAnnotations[i].length > 0) {
-                for (int j = 0; j < parameterAnnotations[i].length; j++) {
-                    if (parameterAnnotations[i][j].annotationType() == LogIgnore.class) {
-                        ignoreParamIndex.add(i);
-                    }
-                }
-            }
-        }
-
-        Object[] args = joinPoint.getArgs();
-        Map<String, Object> argsMap = new HashMap<>();
-
-        for (int i = 0; i < args.length; i++) {
-            if (!ignoreParamIndex.contains(i) && args[i] != null) {
-                argsMap.put(args[i].getClass().getSimpleName(), args[i]);
-            }
-        }
-
-        return argsMap;
-    }
-
-    /**
-     * 获取方法名
-     *
-     * @param signature
-     * @return
-     */
-    private String getMethodName(MethodSignature signature) {
-        return signature.getName();
-    }
-
-    /**
-     * 获取类名
-     *
-     * @param joinPoint
-     * @return
-     */
-    private String getClassName(JoinPoint joinPoint) {
-        return joinPoint.getTarget().getClass().getSimpleName();
+        return MethodLogMetadata.of(signature.getMethod(), joinPoint.getTarget().getClass());
     }
 
 }